@@ -0,0 +1,24 @@
+package com.linkedin.voyager.growth.launchpad.dash.factory.formatters;
+
+import com.linkedin.util.factory.Scope;
+import com.linkedin.util.factory.SimpleSingletonFactory;
+import com.linkedin.util.factory.annotations.Import;
+import com.linkedin.util.factory.cfg.ConfigView;
+import com.linkedin.voyager.common.dash.factory.infra.helpers.RenderModelBuilderFactoryFactory;
+import com.linkedin.voyager.growth.launchpad.dash.factory.Scopes;
+import com.linkedin.voyager.growth.launchpad.dash.impl.formatters.LaunchpadViewModelPool;
+
+
+/**
+ * The view model pool shared by all the launchpad card formatters, so each pooled view model is built once per
+ * process rather than once per formatter
+ */
+public class LaunchpadViewModelPoolFactory extends SimpleSingletonFactory<LaunchpadViewModelPool> {
+  private static final Scope SCOPE = Scopes.LAUNCHPAD_DASH.child("launchpadViewModelPool");
+
+  @Import(clazz = RenderModelBuilderFactoryFactory.class)
+  @Override
+  protected LaunchpadViewModelPool createInstance(ConfigView view) {
+    return new LaunchpadViewModelPool(getBean(RenderModelBuilderFactoryFactory.class));
+  }
+}
@@ -0,0 +1,28 @@
+package com.linkedin.voyager.growth.launchpad.dash.factory.monitoring;
+
+import com.linkedin.util.factory.Scope;
+import com.linkedin.util.factory.cfg.ConfigView;
+import com.linkedin.voyager.common.core.api.monitoring.Counter;
+import com.linkedin.voyager.common.core.factory.monitoring.FrequencyCounterFactory;
+import com.linkedin.voyager.growth.launchpad.dash.factory.Scopes;
+import com.linkedin.voyager.growth.launchpad.dash.impl.monitoring.ChameleonLatencySensor;
+import java.time.Duration;
+
+
+/**
+ * The sensor does not report on its own, the services it is wired into report it on their scheduler
+ */
+public class ChameleonLatencySensorFactory extends FrequencyCounterFactory<ChameleonLatencySensor> {
+  public static final Scope SCOPE = Scopes.LAUNCHPAD_DASH.child("chameleonLatencySensor");
+  private static final String ENABLED = "enabled";
+  private static final String REPORT_INTERVAL_SECONDS = "reportIntervalSeconds";
+
+  @Override
+  protected ChameleonLatencySensor createSensor(Counter frequencyCounter, ConfigView view) {
+    if (!view.getBoolean(ENABLED, true)) {
+      return ChameleonLatencySensor.DISABLED;
+    }
+    return new ChameleonLatencySensor(frequencyCounter,
+        Duration.ofSeconds(view.getLong(REPORT_INTERVAL_SECONDS, 60L)));
+  }
+}
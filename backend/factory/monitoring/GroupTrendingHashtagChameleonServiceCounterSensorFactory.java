@@ -7,16 +7,32 @@ import com.linkedin.voyager.common.core.api.monitoring.Counter;
 import com.linkedin.voyager.common.core.factory.monitoring.FrequencyCounterFactory;
 import com.linkedin.voyager.common.core.factory.services.VoyagerClientInfoServiceFactory;
 import com.linkedin.voyager.growth.launchpad.dash.factory.Scopes;
+import com.linkedin.voyager.growth.launchpad.dash.impl.monitoring.AggregatingGroupTrendingHashtagChameleonServiceCounterSensor;
 import com.linkedin.voyager.growth.launchpad.dash.impl.monitoring.GroupTrendingHashtagChameleonServiceCounterSensor;
+import java.time.Duration;
 
 
 public class GroupTrendingHashtagChameleonServiceCounterSensorFactory
     extends FrequencyCounterFactory<GroupTrendingHashtagChameleonServiceCounterSensor> {
   public static final Scope SCOPE = Scopes.LAUNCHPAD_DASH.child("groupTrendingHashtagChameleonServiceCounterSensor");
+  private static final String AGGREGATION_ENABLED = "aggregation.enabled";
+  private static final String AGGREGATION_TOP_K = "aggregation.topK";
+  private static final String AGGREGATION_SAMPLE_RATE = "aggregation.sampleRate";
+  private static final String AGGREGATION_FLUSH_INTERVAL_SECONDS = "aggregation.flushIntervalSeconds";
 
   @Override
   @Import(clazz = VoyagerClientInfoServiceFactory.class)
   protected GroupTrendingHashtagChameleonServiceCounterSensor createSensor(Counter frequencyCounter, ConfigView view) {
-    return new GroupTrendingHashtagChameleonServiceCounterSensor(frequencyCounter, getBean(VoyagerClientInfoServiceFactory.class));
+    if (!view.getBoolean(AGGREGATION_ENABLED, false)) {
+      return new GroupTrendingHashtagChameleonServiceCounterSensor(frequencyCounter,
+          getBean(VoyagerClientInfoServiceFactory.class));
+    }
+    AggregatingGroupTrendingHashtagChameleonServiceCounterSensor sensor =
+        new AggregatingGroupTrendingHashtagChameleonServiceCounterSensor(frequencyCounter,
+            getBean(VoyagerClientInfoServiceFactory.class), view.getInt(AGGREGATION_TOP_K, 10),
+            view.getInt(AGGREGATION_SAMPLE_RATE, 16));
+    // The sensor owns its flush scheduler, closing it stops the flushes and flushes what is left
+    sensor.startFlushing(Duration.ofSeconds(view.getLong(AGGREGATION_FLUSH_INTERVAL_SECONDS, 60L)));
+    return sensor;
   }
-}
\ No newline at end of file
+}
@@ -1,5 +1,9 @@
 package com.linkedin.voyager.growth.launchpad.dash.factory.services;
 
+import com.google.common.base.Splitter;
+import com.google.common.collect.Iterables;
+import com.google.common.primitives.Longs;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.linkedin.chameleon.client.factory.ConfigPipelineMgrFactory;
 import com.linkedin.pemberly.api.server.context.CurrentRequestServiceFactory;
 import com.linkedin.pemberly.api.server.context.RequestLocaleServiceFactory;
@@ -11,13 +15,94 @@ import com.linkedin.voyager.common.core.factory.helpers.VoyagerMemberFinderFacto
 import com.linkedin.voyager.common.core.factory.services.VoyagerLixServiceSyncFactoryV2;
 import com.linkedin.voyager.common.dash.factory.infra.helpers.RenderModelBuilderFactoryFactory;
 import com.linkedin.voyager.growth.launchpad.dash.factory.Scopes;
+import com.linkedin.voyager.growth.launchpad.dash.factory.monitoring.ChameleonLatencySensorFactory;
 import com.linkedin.voyager.growth.launchpad.dash.factory.monitoring.GroupTrendingHashtagChameleonServiceCounterSensorFactory;
+import com.linkedin.voyager.growth.launchpad.dash.impl.monitoring.ChameleonLatencySensor;
+import com.linkedin.voyager.growth.launchpad.dash.impl.services.ChameleonCacheConfig;
+import com.linkedin.voyager.growth.launchpad.dash.impl.services.ChameleonCircuitBreakerConfig;
+import com.linkedin.voyager.growth.launchpad.dash.impl.services.ChameleonHedgingConfig;
+import com.linkedin.voyager.growth.launchpad.dash.impl.services.ChameleonServiceConfig;
+import com.linkedin.voyager.growth.launchpad.dash.impl.services.ChameleonTrackingConfig;
 import com.linkedin.voyager.growth.launchpad.dash.impl.services.GroupTrendingHashtagChameleonService;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.lang3.LocaleUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 
 public class GroupTrendingHashtagChameleonServiceFactory
     extends SimpleSingletonFactory<GroupTrendingHashtagChameleonService> {
+  private static final Logger LOG = LoggerFactory.getLogger(GroupTrendingHashtagChameleonServiceFactory.class);
   private static final Scope SCOPE = Scopes.LAUNCHPAD_DASH.child("groupTrendingHashtagChameleonService");
+  private static final String CONFIG_CACHE_ENABLED = "configCache.enabled";
+  private static final String CONFIG_CACHE_MAX_SIZE = "configCache.maxSize";
+  private static final String CONFIG_CACHE_TTL_SECONDS = "configCache.ttlSeconds";
+  private static final String CONFIG_CACHE_NEGATIVE_TTL_SECONDS = "configCache.negativeTtlSeconds";
+  private static final String CONFIG_CACHE_REFRESH_AFTER_SECONDS = "configCache.refreshAfterSeconds";
+  private static final String CONFIG_CACHE_HOT_REFRESH_INTERVAL_SECONDS = "configCache.hotRefreshIntervalSeconds";
+  private static final String CONFIG_CACHE_HOT_KEY_MIN_HITS = "configCache.hotKeyMinHits";
+  private static final String CONFIG_CACHE_REFRESH_THREADS = "configCache.refreshThreads";
+  private static final String CONFIG_CACHE_REFRESH_QUEUE_SIZE = "configCache.refreshQueueSize";
+  private static final String CHAMELEON_EXECUTOR_THREADS = "chameleonExecutor.threads";
+  private static final String CHAMELEON_EXECUTOR_QUEUE_SIZE = "chameleonExecutor.queueSize";
+  private static final String CONTENT_EXECUTOR_THREADS = "contentExecutor.threads";
+  private static final String CONTENT_EXECUTOR_QUEUE_SIZE = "contentExecutor.queueSize";
+  private static final String PREVIEW_EXECUTOR_THREADS = "previewExecutor.threads";
+  private static final String PREVIEW_EXECUTOR_QUEUE_SIZE = "previewExecutor.queueSize";
+  private static final String TRACKING_ENABLED = "tracking.enabled";
+  private static final String TRACKING_CAPACITY = "tracking.capacity";
+  private static final String TRACKING_BATCH_SIZE = "tracking.batchSize";
+  private static final String TRACKING_FLUSH_INTERVAL_MILLIS = "tracking.flushIntervalMillis";
+  private static final String CONTENT_LOOKUP_TIMEOUT_MILLIS = "contentLookup.timeoutMillis";
+  private static final String REQUEST_BUDGET_MILLIS = "requestBudgetMillis";
+  private static final String REQUEST_START_HEADER = "requestStartHeader";
+  private static final String MIN_REMAINING_BUDGET_MILLIS = "minRemainingBudgetMillis";
+  private static final String CIRCUIT_BREAKER_ENABLED = "circuitBreaker.enabled";
+  private static final String CIRCUIT_BREAKER_WINDOW_SIZE = "circuitBreaker.windowSize";
+  private static final String CIRCUIT_BREAKER_MINIMUM_CALLS = "circuitBreaker.minimumCalls";
+  private static final String CIRCUIT_BREAKER_FAILURE_RATE_THRESHOLD = "circuitBreaker.failureRateThreshold";
+  private static final String CIRCUIT_BREAKER_SLOW_CALL_THRESHOLD_MILLIS = "circuitBreaker.slowCallThresholdMillis";
+  private static final String CIRCUIT_BREAKER_OPEN_DURATION_SECONDS = "circuitBreaker.openDurationSeconds";
+  private static final String CIRCUIT_BREAKER_HALF_OPEN_PERMITS = "circuitBreaker.halfOpenPermits";
+  private static final String HEDGING_ENABLED = "hedging.enabled";
+  private static final String HEDGING_PERCENTILE = "hedging.percentile";
+  private static final String HEDGING_MIN_DELAY_MILLIS = "hedging.minDelayMillis";
+  private static final String HEDGING_MAX_HEDGE_RATE = "hedging.maxHedgeRate";
+  private static final String HEDGING_WINDOW_SIZE = "hedging.windowSize";
+  private static final String HEDGING_EXECUTOR_THREADS = "hedgingExecutor.threads";
+  private static final String HEDGING_EXECUTOR_QUEUE_SIZE = "hedgingExecutor.queueSize";
+  private static final String CONFIG_CACHE_LAST_KNOWN_GOOD_RETENTION_SECONDS =
+      "configCache.lastKnownGoodRetentionSeconds";
+  private static final String CONTENT_CACHE_ENABLED = "contentCache.enabled";
+  private static final String CONTENT_CACHE_MAX_WEIGHT = "contentCache.maxWeight";
+  private static final String CONTENT_CACHE_TTL_SECONDS = "contentCache.ttlSeconds";
+  private static final String WARM_UP_ENABLED = "warmUp.enabled";
+  private static final String WARM_UP_GROUP_IDS = "warmUp.groupIds";
+  private static final String WARM_UP_LOCALES = "warmUp.locales";
+  private static final String WARM_UP_MAX_CONCURRENCY = "warmUp.maxConcurrency";
+  private static final String WARM_UP_TIME_CAP_SECONDS = "warmUp.timeCapSeconds";
+  private static final String WARM_UP_SNAPSHOT_PATH = "warmUp.snapshotPath";
+  private static final String WARM_UP_SNAPSHOT_INTERVAL_SECONDS = "warmUp.snapshotIntervalSeconds";
+  private static final String WARM_UP_SNAPSHOT_MAX_GROUPS = "warmUp.snapshotMaxGroups";
+  private static final Splitter LIST_SPLITTER = Splitter.on(',').trimResults().omitEmptyStrings();
 
   @Import(clazz = ConfigPipelineMgrFactory.class)
   @Import(clazz = CurrentRequestServiceFactory.class)
@@ -26,15 +111,195 @@ public class GroupTrendingHashtagChameleonServiceFactory
   @Import(clazz = VoyagerMemberFinderFactory.class)
   @Import(clazz = GroupTrendingHashtagChameleonServiceCounterSensorFactory.class)
   @Import(clazz = RenderModelBuilderFactoryFactory.class)
+  @Import(clazz = ChameleonLatencySensorFactory.class)
   @Override
   protected GroupTrendingHashtagChameleonService createInstance(ConfigView view) {
-    return new GroupTrendingHashtagChameleonService(
+    ChameleonServiceConfig defaults = ChameleonServiceConfig.DEFAULT;
+    ChameleonCircuitBreakerConfig circuitBreakerDefaults = ChameleonCircuitBreakerConfig.builder().build();
+    ChameleonCircuitBreakerConfig circuitBreakerConfig = ChameleonCircuitBreakerConfig.builder()
+        .enabled(view.getBoolean(CIRCUIT_BREAKER_ENABLED, true))
+        .windowSize(view.getInt(CIRCUIT_BREAKER_WINDOW_SIZE, circuitBreakerDefaults.getWindowSize()))
+        .minimumCalls(view.getInt(CIRCUIT_BREAKER_MINIMUM_CALLS, circuitBreakerDefaults.getMinimumCalls()))
+        .failureRateThreshold(view.getDouble(CIRCUIT_BREAKER_FAILURE_RATE_THRESHOLD,
+            circuitBreakerDefaults.getFailureRateThreshold()))
+        .slowCallThreshold(Duration.ofMillis(view.getLong(CIRCUIT_BREAKER_SLOW_CALL_THRESHOLD_MILLIS,
+            circuitBreakerDefaults.getSlowCallThreshold().toMillis())))
+        .openDuration(Duration.ofSeconds(view.getLong(CIRCUIT_BREAKER_OPEN_DURATION_SECONDS,
+            circuitBreakerDefaults.getOpenDuration().getSeconds())))
+        .halfOpenPermits(view.getInt(CIRCUIT_BREAKER_HALF_OPEN_PERMITS, circuitBreakerDefaults.getHalfOpenPermits()))
+        .build();
+    ChameleonHedgingConfig hedgingDefaults = ChameleonHedgingConfig.builder().build();
+    ChameleonHedgingConfig hedgingConfig = hedgingDefaults.toBuilder()
+        .enabled(view.getBoolean(HEDGING_ENABLED, false))
+        .percentile(view.getDouble(HEDGING_PERCENTILE, hedgingDefaults.getPercentile()))
+        .minDelay(Duration.ofMillis(view.getLong(HEDGING_MIN_DELAY_MILLIS, hedgingDefaults.getMinDelay().toMillis())))
+        .maxHedgeRate(view.getDouble(HEDGING_MAX_HEDGE_RATE, hedgingDefaults.getMaxHedgeRate()))
+        .windowSize(view.getInt(HEDGING_WINDOW_SIZE, hedgingDefaults.getWindowSize()))
+        .build();
+    ChameleonTrackingConfig trackingDefaults = ChameleonTrackingConfig.builder().build();
+    ChameleonTrackingConfig trackingConfig = ChameleonTrackingConfig.builder()
+        .enabled(view.getBoolean(TRACKING_ENABLED, true))
+        .capacity(view.getInt(TRACKING_CAPACITY, trackingDefaults.getCapacity()))
+        .batchSize(view.getInt(TRACKING_BATCH_SIZE, trackingDefaults.getBatchSize()))
+        .flushInterval(Duration.ofMillis(view.getLong(TRACKING_FLUSH_INTERVAL_MILLIS,
+            trackingDefaults.getFlushInterval().toMillis())))
+        .build();
+    ChameleonLatencySensor latencySensor = getBean(ChameleonLatencySensorFactory.class);
+    ChameleonServiceConfig serviceConfig = ChameleonServiceConfig.builder()
+        .chameleonExecutor(createExecutor("group-trending-hashtag-chameleon-%d",
+            view.getInt(CHAMELEON_EXECUTOR_THREADS, 16), view.getInt(CHAMELEON_EXECUTOR_QUEUE_SIZE, 1000)))
+        .contentExecutor(createExecutor("group-trending-hashtag-chameleon-content-%d",
+            view.getInt(CONTENT_EXECUTOR_THREADS, 32), view.getInt(CONTENT_EXECUTOR_QUEUE_SIZE, 1000)))
+        .previewExecutor(createExecutor("group-trending-hashtag-chameleon-preview-%d",
+            view.getInt(PREVIEW_EXECUTOR_THREADS, 2), view.getInt(PREVIEW_EXECUTOR_QUEUE_SIZE, 50)))
+        .contentLookupTimeout(Duration.ofMillis(view.getLong(CONTENT_LOOKUP_TIMEOUT_MILLIS,
+            defaults.getContentLookupTimeout().toMillis())))
+        .contentCacheEnabled(view.getBoolean(CONTENT_CACHE_ENABLED, defaults.isContentCacheEnabled()))
+        .contentCacheMaxWeight(view.getLong(CONTENT_CACHE_MAX_WEIGHT, defaults.getContentCacheMaxWeight()))
+        .contentCacheTtl(Duration.ofSeconds(view.getLong(CONTENT_CACHE_TTL_SECONDS,
+            defaults.getContentCacheTtl().getSeconds())))
+        // Off unless configured, the budget serves the fallback instead of waiting for Chameleon
+        .requestBudget(Duration.ofMillis(view.getLong(REQUEST_BUDGET_MILLIS, defaults.getRequestBudget().toMillis())))
+        .requestStartHeader(view.getString(REQUEST_START_HEADER, defaults.getRequestStartHeader()))
+        .minRemainingBudget(Duration.ofMillis(view.getLong(MIN_REMAINING_BUDGET_MILLIS,
+            defaults.getMinRemainingBudget().toMillis())))
+        .circuitBreaker(circuitBreakerConfig)
+        .hedging(hedgingConfig)
+        // Only the second calls of hedged calls run on it, so it is not created while hedging is disabled
+        .hedgingExecutor(hedgingConfig.isEnabled()
+            ? createExecutor("group-trending-hashtag-chameleon-hedging-%d",
+                view.getInt(HEDGING_EXECUTOR_THREADS, 32), view.getInt(HEDGING_EXECUTOR_QUEUE_SIZE, 1000))
+            : defaults.getHedgingExecutor())
+        .tracking(trackingConfig)
+        // One flusher is enough, full batches triggered while it is busy are left to the periodic flush
+        .trackingExecutor(createExecutor("group-trending-hashtag-chameleon-tracking-%d", 1, 1))
+        // Shut down with the service, when the bean is closed
+        .scheduler(createScheduler())
+        .latencySensor(latencySensor)
+        .build();
+    ChameleonCacheConfig cacheConfig = ChameleonCacheConfig.builder()
+        .enabled(view.getBoolean(CONFIG_CACHE_ENABLED, true))
+        .maxSize(view.getLong(CONFIG_CACHE_MAX_SIZE, 10_000L))
+        .ttl(Duration.ofSeconds(view.getLong(CONFIG_CACHE_TTL_SECONDS, 1800L)))
+        .lastKnownGoodRetention(Duration.ofSeconds(view.getLong(CONFIG_CACHE_LAST_KNOWN_GOOD_RETENTION_SECONDS, 3600L)))
+        .negativeTtl(Duration.ofSeconds(view.getLong(CONFIG_CACHE_NEGATIVE_TTL_SECONDS, 120L)))
+        .refreshAfter(Duration.ofSeconds(view.getLong(CONFIG_CACHE_REFRESH_AFTER_SECONDS, 300L)))
+        .hotRefreshInterval(Duration.ofSeconds(view.getLong(CONFIG_CACHE_HOT_REFRESH_INTERVAL_SECONDS, 60L)))
+        .hotKeyMinHits(view.getLong(CONFIG_CACHE_HOT_KEY_MIN_HITS, 2L))
+        .build();
+    GroupTrendingHashtagChameleonService service = new GroupTrendingHashtagChameleonService(
         getBean(ConfigPipelineMgrFactory.class),
         getBean(CurrentRequestServiceFactory.class),
         getBean(VoyagerLixServiceSyncFactoryV2.class),
         getBean(RequestLocaleServiceFactory.class),
         getBean(VoyagerMemberFinderFactory.class),
         getBean(GroupTrendingHashtagChameleonServiceCounterSensorFactory.class),
-        getBean(RenderModelBuilderFactoryFactory.class));
+        getBean(RenderModelBuilderFactoryFactory.class),
+        serviceConfig,
+        cacheConfig,
+        createExecutor("group-trending-hashtag-config-refresh-%d",
+            view.getInt(CONFIG_CACHE_REFRESH_THREADS, 2), view.getInt(CONFIG_CACHE_REFRESH_QUEUE_SIZE, 1000)));
+    scheduleTrackingFlush(service, trackingConfig);
+    // The sensor is shared with the card formatters, this service reports it for all of them
+    service.scheduleWithFixedDelay("latencyReport", latencySensor::report, latencySensor.getReportInterval());
+    if (view.getBoolean(WARM_UP_ENABLED, false)) {
+      startWarmUp(service, view);
+    }
+    return service;
+  }
+
+  /**
+   * Start loading the configured groups, and the hot groups persisted by the previous instance, in the background.
+   * Creating the instance does not wait for it, the warm-up runs on a thread of its own for at most the warm-up time
+   * cap. {@link GroupTrendingHashtagChameleonService#isWarmedUp()} is the hook for a readiness check to hold traffic
+   * back until then.
+   */
+  private static void startWarmUp(GroupTrendingHashtagChameleonService service, ConfigView view) {
+    Set<Long> groupIds = new LinkedHashSet<>(parseGroupIds(LIST_SPLITTER.split(view.getString(WARM_UP_GROUP_IDS, ""))));
+    String snapshotPath = view.getString(WARM_UP_SNAPSHOT_PATH, "");
+    if (!snapshotPath.isEmpty()) {
+      Path snapshot = Paths.get(snapshotPath);
+      groupIds.addAll(readSnapshot(snapshot));
+      scheduleSnapshot(service, snapshot, view.getLong(WARM_UP_SNAPSHOT_INTERVAL_SECONDS, 300L),
+          view.getInt(WARM_UP_SNAPSHOT_MAX_GROUPS, 1000));
+    }
+    if (groupIds.isEmpty()) {
+      return;
+    }
+    List<Locale> locales = new ArrayList<>();
+    for (String locale : LIST_SPLITTER.split(view.getString(WARM_UP_LOCALES, "en_US"))) {
+      locales.add(LocaleUtils.toLocale(locale));
+    }
+    service.startWarmUp(groupIds, locales, view.getInt(WARM_UP_MAX_CONCURRENCY, 8),
+        Duration.ofSeconds(view.getLong(WARM_UP_TIME_CAP_SECONDS, 30L)));
+  }
+
+  private static List<Long> readSnapshot(Path snapshot) {
+    if (!Files.exists(snapshot)) {
+      return Collections.emptyList();
+    }
+    try {
+      return parseGroupIds(Files.readAllLines(snapshot, StandardCharsets.UTF_8));
+    } catch (IOException e) {
+      LOG.warn("Not able to read the group trending hashtag warm-up snapshot {}", snapshot, e);
+      return Collections.emptyList();
+    }
+  }
+
+  /**
+   * Persist the groups currently cached, one id per line, so the next instance can warm them up. Runs on the
+   * scheduler of the service, so it stops when the service is closed.
+   */
+  private static void scheduleSnapshot(GroupTrendingHashtagChameleonService service, Path snapshot,
+      long intervalSeconds, int maxGroups) {
+    service.scheduleWithFixedDelay("warmUpSnapshot", () -> {
+      List<String> lines = new ArrayList<>();
+      for (Long groupId : Iterables.limit(service.getCachedGroupIds(), maxGroups)) {
+        lines.add(String.valueOf(groupId));
+      }
+      try {
+        Path temp = snapshot.resolveSibling(snapshot.getFileName() + ".tmp");
+        Files.write(temp, lines, StandardCharsets.UTF_8);
+        Files.move(temp, snapshot, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      } catch (IOException | RuntimeException e) {
+        LOG.warn("Not able to write the group trending hashtag warm-up snapshot {}", snapshot, e);
+      }
+    }, Duration.ofSeconds(intervalSeconds));
+  }
+
+  private static List<Long> parseGroupIds(Iterable<String> values) {
+    List<Long> groupIds = new ArrayList<>();
+    for (String value : values) {
+      Long groupId = Longs.tryParse(value.trim());
+      if (groupId != null) {
+        groupIds.add(groupId);
+      }
+    }
+    return groupIds;
+  }
+
+  private static void scheduleTrackingFlush(GroupTrendingHashtagChameleonService service,
+      ChameleonTrackingConfig trackingConfig) {
+    if (!trackingConfig.isEnabled()) {
+      return;
+    }
+    // The queued events are emitted when the service is closed
+    service.scheduleWithFixedDelay("trackingFlush", service::flushTracking, trackingConfig.getFlushInterval());
+  }
+
+  /**
+   * The scheduler also holds the timers of hedged calls, most of which are cancelled, so cancelled timers are removed
+   * right away instead of when they would have fired
+   */
+  private static ScheduledExecutorService createScheduler() {
+    ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1,
+        new ThreadFactoryBuilder().setNameFormat("group-trending-hashtag-chameleon-scheduler-%d").setDaemon(true).build());
+    scheduler.setRemoveOnCancelPolicy(true);
+    return scheduler;
+  }
+
+  private static ExecutorService createExecutor(String nameFormat, int threads, int queueSize) {
+    return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueSize),
+        new ThreadFactoryBuilder().setNameFormat(nameFormat).setDaemon(true).build());
   }
 }
\ No newline at end of file
@@ -0,0 +1,103 @@
+package com.linkedin.voyager.growth.launchpad.dash.impl.formatters;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.linkedin.restli.common.HttpStatus;
+import com.linkedin.voyager.common.VoyagerServiceException;
+import com.linkedin.voyager.common.dash.api.infra.helpers.RenderModelBuilderFactory;
+import com.linkedin.voyager.common.dash.api.infra.helpers.image.ImageViewModelBuilder;
+import com.linkedin.voyager.dash.common.SystemImageName;
+import com.linkedin.voyager.dash.common.image.ImageViewModel;
+import com.linkedin.voyager.dash.common.text.TextViewModel;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+
+/**
+ * Interned, read-only view models for the parts of launchpad cards that are not specific to a member:
+ * system images and translated texts. They are built once and shared across requests, so
+ * {@link LaunchpadCardFormatter} subclasses only allocate the view models that genuinely differ per member.
+ * Pooled view models are attached as they are to the responses of every request, which stay mutable. Their data is
+ * made read-only, so mutating one throws instead of leaking into the responses of other requests: code that needs
+ * to change a pooled view model must build its own instead.
+ */
+public class LaunchpadViewModelPool {
+  // Translated texts are bounded by translation keys times locales, this only guards against misuse
+  private static final long MAX_TEXTS = 10_000;
+
+  private final RenderModelBuilderFactory renderModelBuilderFactory;
+  private final ConcurrentMap<SystemImageName, ImageViewModel> systemImages = new ConcurrentHashMap<>();
+  private final Cache<TextKey, TextViewModel> texts = CacheBuilder.newBuilder().maximumSize(MAX_TEXTS).build();
+
+  public LaunchpadViewModelPool(RenderModelBuilderFactory renderModelBuilderFactory) {
+    this.renderModelBuilderFactory = renderModelBuilderFactory;
+  }
+
+  /**
+   * @return the shared view model of a system image
+   */
+  public ImageViewModel getSystemImage(SystemImageName systemImageName) {
+    return systemImages.computeIfAbsent(systemImageName, this::buildSystemImage);
+  }
+
+  /**
+   * Get the shared view model of a translated text. Texts are pooled per translation key and localized text, so
+   * each locale gets its own view model without the pool having to know the request locale.
+   * @param translationKey the translation key the text was localized from, compared with equals
+   * @param localizedText the text localized for the current request
+   * @param textViewModelBuilder builds the view model of the localized text on the first use in a locale
+   */
+  public TextViewModel getText(Object translationKey, String localizedText,
+      Supplier<TextViewModel> textViewModelBuilder) {
+    TextKey textKey = new TextKey(translationKey, localizedText);
+    TextViewModel text = texts.getIfPresent(textKey);
+    if (text == null) {
+      // Concurrent misses may both build, the view models are equivalent so the last one simply wins
+      text = textViewModelBuilder.get();
+      text.data().makeReadOnly();
+      texts.put(textKey, text);
+    }
+    return text;
+  }
+
+  private ImageViewModel buildSystemImage(SystemImageName systemImageName) {
+    ImageViewModel image;
+    try {
+      image = renderModelBuilderFactory.getDashImageViewModelBuilder().addSystemImage(systemImageName).build();
+    } catch (ImageViewModelBuilder.BuildVerificationFailure e) {
+      throw VoyagerServiceException.buildNoStacktraceException(HttpStatus.S_500_INTERNAL_SERVER_ERROR,
+          String.format("Invalid image %s", systemImageName), e);
+    }
+    image.data().makeReadOnly();
+    return image;
+  }
+
+  private static final class TextKey {
+    private final Object translationKey;
+    private final String localizedText;
+
+    private TextKey(Object translationKey, String localizedText) {
+      this.translationKey = translationKey;
+      this.localizedText = localizedText;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      TextKey that = (TextKey) o;
+      return Objects.equals(translationKey, that.translationKey) && Objects.equals(localizedText, that.localizedText);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(translationKey, localizedText);
+    }
+  }
+}
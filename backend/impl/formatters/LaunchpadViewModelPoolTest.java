@@ -0,0 +1,69 @@
+package com.linkedin.voyager.growth.launchpad.dash.impl.formatters;
+
+import com.linkedin.voyager.common.dash.api.infra.helpers.RenderModelBuilderFactory;
+import com.linkedin.voyager.common.test.helpers.test.VoyagerAsyncTaskUnitTest;
+import com.linkedin.voyager.dash.common.SystemImageName;
+import com.linkedin.voyager.dash.common.image.ImageViewModel;
+import com.linkedin.voyager.dash.common.text.TextViewModel;
+import com.linkedin.voyager.growth.launchpad.dash.impl.test.builders.TextViewModelTestHelper;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.testng.annotations.Test;
+
+
+/**
+ * Unit test for {@link LaunchpadViewModelPool}.
+ * */
+public class LaunchpadViewModelPoolTest extends VoyagerAsyncTaskUnitTest {
+  private static final String TRANSLATION_KEY = "cards_group_trending_hashtag_prompt_startposts";
+
+  @Test(description = "Test a system image is built once and shared read-only")
+  public void testGetSystemImage() {
+    LaunchpadViewModelPool pool = new LaunchpadViewModelPool(new RenderModelBuilderFactory());
+
+    ImageViewModel first = pool.getSystemImage(SystemImageName.ILL_SPT_MAIN_CONVERSATION_SMALL);
+    ImageViewModel second = pool.getSystemImage(SystemImageName.ILL_SPT_MAIN_CONVERSATION_SMALL);
+
+    assertThat(second).isSameAs(first);
+    assertThat(first.data().isReadOnly()).isTrue();
+    assertThat(first.getAttributes().get(0).getDetailDataUnion().getSystemImage())
+        .isEqualTo(SystemImageName.ILL_SPT_MAIN_CONVERSATION_SMALL);
+  }
+
+  @Test(description = "Test a text is built once per localized text and shared read-only")
+  public void testGetText() {
+    LaunchpadViewModelPool pool = new LaunchpadViewModelPool(new RenderModelBuilderFactory());
+    AtomicInteger builds = new AtomicInteger();
+
+    TextViewModel first = pool.getText(TRANSLATION_KEY, "Start a post", () -> {
+      builds.incrementAndGet();
+      return TextViewModelTestHelper.buildTextViewModel("Start a post");
+    });
+    TextViewModel second = pool.getText(TRANSLATION_KEY, "Start a post", () -> {
+      builds.incrementAndGet();
+      return TextViewModelTestHelper.buildTextViewModel("Start a post");
+    });
+    TextViewModel otherLocale = pool.getText(TRANSLATION_KEY, "Commencer un post", () -> {
+      builds.incrementAndGet();
+      return TextViewModelTestHelper.buildTextViewModel("Commencer un post");
+    });
+
+    assertThat(second).isSameAs(first);
+    assertThat(first.data().isReadOnly()).isTrue();
+    assertThat(otherLocale.getText()).isEqualTo("Commencer un post");
+    assertThat(builds.get()).isEqualTo(2);
+  }
+
+  @Test(description = "Test pooled view models reject mutations instead of changing for every request")
+  public void testPooledViewModelsRejectMutation() {
+    LaunchpadViewModelPool pool = new LaunchpadViewModelPool(new RenderModelBuilderFactory());
+    TextViewModel text = pool.getText(TRANSLATION_KEY, "Start a post",
+        () -> TextViewModelTestHelper.buildTextViewModel("Start a post"));
+    ImageViewModel image = pool.getSystemImage(SystemImageName.ILL_SPT_MAIN_CONVERSATION_SMALL);
+
+    assertThatThrownBy(() -> text.setText("Changed")).isInstanceOf(UnsupportedOperationException.class);
+    assertThatThrownBy(() -> image.data().remove("attributes")).isInstanceOf(UnsupportedOperationException.class);
+
+    assertThat(pool.getText(TRANSLATION_KEY, "Start a post", () -> null).getText()).isEqualTo("Start a post");
+    assertThat(pool.getSystemImage(SystemImageName.ILL_SPT_MAIN_CONVERSATION_SMALL).getAttributes()).hasSize(1);
+  }
+}
@@ -1,8 +1,11 @@
 package com.linkedin.voyager.growth.launchpad.dash.impl.formatters.evtgroups;
 
 import com.basistech.com.google.common.collect.ImmutableMap;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.linkedin.common.url.Url;
 import com.linkedin.common.urn.Urn;
+import com.linkedin.launchpad.LaunchpadCard;
 import com.linkedin.parseq.Task;
 import com.linkedin.pemberly.api.server.lix.LixService;
 import com.linkedin.pemberly.api.server.url.UrlService;
@@ -16,7 +19,6 @@ import com.linkedin.voyager.common.core.api.services.VoyagerClientInfoService;
 import com.linkedin.voyager.common.dash.api.growth.services.BaseAmbryService;
 import com.linkedin.voyager.common.dash.api.infra.formatters.tracking.TrackingKeyFormatter;
 import com.linkedin.voyager.common.dash.api.infra.helpers.RenderModelBuilderFactory;
-import com.linkedin.voyager.common.dash.api.infra.helpers.image.ImageViewModelBuilder;
 import com.linkedin.voyager.common.dash.api.infra.services.VoyagerLocalizationService;
 import com.linkedin.voyager.dash.common.SystemImageName;
 import com.linkedin.voyager.dash.common.image.ImageViewModel;
@@ -30,11 +32,12 @@ import com.linkedin.voyager.growth.launchpad.dash.impl.LaunchpadTranslationKey;
 import com.linkedin.voyager.growth.launchpad.dash.impl.common.tracking.NeptunePageKeyConstants;
 import com.linkedin.voyager.growth.launchpad.dash.impl.common.tracking.VoyagerPageKeyConstants;
 import com.linkedin.voyager.growth.launchpad.dash.impl.formatters.LaunchpadCardFormatter;
+import com.linkedin.voyager.growth.launchpad.dash.impl.formatters.LaunchpadViewModelPool;
 import com.linkedin.voyager.growth.launchpad.dash.impl.helpers.LaunchpadCardWrapper;
 import com.linkedin.voyager.growth.launchpad.dash.impl.helpers.groups.GroupTrendingHashtagChameleonConfig;
+import com.linkedin.voyager.growth.launchpad.dash.impl.monitoring.ChameleonLatencySensor;
 import com.linkedin.voyager.growth.launchpad.dash.impl.services.GroupTrendingHashtagChameleonService;
 import graphql.VisibleForTesting;
-import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import javax.annotation.Nullable;
@@ -59,8 +62,26 @@ public class GroupHashtagPromptCardFormatter extends LaunchpadCardFormatter {
   private static final Logger LOG = LoggerFactory.getLogger(GroupHashtagPromptCardFormatter.class);
   private static final String NEW_LINES_URL_ENCODED = "%0D%0D";
   private static final String GROUP_URN_ATTRIBUTE_KEY = "GROUP_URN";
+  private static final long CARD_SNAPSHOT_CACHE_MAX_SIZE = 10_000;
+  // One share URL template per distinct linked URL, e.g. per locale and host
+  private static final long SHARE_URL_TEMPLATE_CACHE_MAX_SIZE = 1_000;
+  private static final String NAME = "GroupHashtagPromptCardFormatter";
   private final GroupTrendingHashtagChameleonService groupTrendingHashtagChameleonService;
   private final Map<String, Integer> cardTypeToIndexMap;
+  private final ChameleonLatencySensor latencySensor;
+  private final LaunchpadViewModelPool viewModelPool;
+  /**
+   * Card snapshots keyed by the identity of the config they are built from. Configs are cached per (groupId, locale)
+   * by the service, so a snapshot lives exactly as long as its config and is rebuilt once the config is refreshed.
+   */
+  private final Cache<GroupTrendingHashtagChameleonConfig, GroupHashtagPromptCardSnapshot> cardSnapshots =
+      CacheBuilder.newBuilder().weakKeys().maximumSize(CARD_SNAPSHOT_CACHE_MAX_SIZE).build();
+  /**
+   * Share URL templates keyed by the URL linked with placeholder values. The linked URL holds everything the URL
+   * service read from the request, so only the parsing of a URL is shared between requests, never the URL itself.
+   */
+  private final Cache<String, ShareUrlTemplate> shareUrlTemplates =
+      CacheBuilder.newBuilder().maximumSize(SHARE_URL_TEMPLATE_CACHE_MAX_SIZE).build();
 
   public GroupHashtagPromptCardFormatter(FabricChecker fabricChecker,
       VoyagerLocalizationService voyagerLocalizationService,
@@ -72,11 +93,15 @@ public class GroupHashtagPromptCardFormatter extends LaunchpadCardFormatter {
       RenderModelBuilderFactory renderModelBuilderFactory,
       TrackingKeyFormatter trackingKeyFormatter,
       GroupTrendingHashtagChameleonService groupTrendingHashtagChameleonService,
-      Map<String, Integer> cardTypeToIndexMap) {
+      Map<String, Integer> cardTypeToIndexMap,
+      LaunchpadViewModelPool viewModelPool) {
     super(fabricChecker, voyagerLocalizationService, renderModelBuilderFactory, ambryService, voyagerMemberFinder,
         urlService, clientInfoService, lixService, trackingKeyFormatter);
     this.groupTrendingHashtagChameleonService = groupTrendingHashtagChameleonService;
     this.cardTypeToIndexMap = cardTypeToIndexMap;
+    // Shared with the service, which reports it
+    this.latencySensor = groupTrendingHashtagChameleonService.getLatencySensor();
+    this.viewModelPool = viewModelPool;
   }
 
   /**
@@ -85,9 +110,7 @@ public class GroupHashtagPromptCardFormatter extends LaunchpadCardFormatter {
    */
   @Override
   public Task<TextViewModel> getTitle(LaunchpadCardWrapper launchpadCardWrapper) {
-    GroupTrendingHashtagChameleonConfig targetChameleonConfig = findTargetChameleonConfig(launchpadCardWrapper);
-    String title = targetChameleonConfig.getHashtag();
-    return Task.value(renderModelBuilderFactory.getDashTextViewModelBuilder().setLocalizedTextV2(title).build());
+    return findTargetCardSnapshot(launchpadCardWrapper).map("getTitle", GroupHashtagPromptCardSnapshot::getTitle);
   }
 
   /**
@@ -96,9 +119,7 @@ public class GroupHashtagPromptCardFormatter extends LaunchpadCardFormatter {
    */
   @Override
   public Task<Optional<TextViewModel>> getSubtitle(LaunchpadCardWrapper launchpadCardWrapper) {
-    GroupTrendingHashtagChameleonConfig targetChameleonConfig = findTargetChameleonConfig(launchpadCardWrapper);
-    String subtitle = StringUtils.defaultIfNull(targetChameleonConfig.getPrompt(), "");
-    return Task.value(Optional.of(renderModelBuilderFactory.getDashTextViewModelBuilder().setLocalizedTextV2(subtitle).build()));
+    return findTargetCardSnapshot(launchpadCardWrapper).map("getSubtitle", snapshot -> Optional.of(snapshot.getSubtitle()));
   }
 
   /**
@@ -113,16 +134,21 @@ public class GroupHashtagPromptCardFormatter extends LaunchpadCardFormatter {
   @Override
   public Task<LaunchpadCta> populateLaunchpadCta(
       LaunchpadContext launchpadContext, String ctaType, LaunchpadCta launchpadCta, LaunchpadCardWrapper launchpadCardWrapper) {
+    // Everything depending on the request is read here, on the request thread. The task runs on a ParSeq thread, so it
+    // only does string work on the config.
     String legoTrackingToken = launchpadCardWrapper.getBackendLaunchpadCard().getLegoTrackingToken();
-    GroupTrendingHashtagChameleonConfig targetChameleonConfig = findTargetChameleonConfig(launchpadCardWrapper);
-    String hashtag = targetChameleonConfig.getHashtag();
-
-    return Task.value(new LaunchpadCta().setCtaTitle(
-            getTextViewModelByContent(LaunchpadTranslationKey.CARDS_GROUP_TRENDING_HASHTAG_PROMPT_STARTPOSTS))
-        .setCtaStyle(LaunchpadCtaStyle.PRIMARY)
-        .setCtaType(ctaType)
-        .setPresentationStyle(PresentationStyle.REDIRECT)
-        .setDeeplinkUrl(getDeeplinkUrl(hashtag, legoTrackingToken)));
+    TextViewModel ctaTitle = getCtaTitle();
+    ShareUrlTemplate shareUrlTemplate = getShareUrlTemplate();
+    return findTargetCardSnapshot(launchpadCardWrapper).map("populateLaunchpadCta", snapshot -> {
+      long startNanos = System.nanoTime();
+      LaunchpadCta cta = new LaunchpadCta().setCtaTitle(ctaTitle)
+          .setCtaStyle(LaunchpadCtaStyle.PRIMARY)
+          .setCtaType(ctaType)
+          .setPresentationStyle(PresentationStyle.REDIRECT)
+          .setDeeplinkUrl(new Url(shareUrlTemplate.render(snapshot.getHashtag(), legoTrackingToken)));
+      latencySensor.recordSince(NAME, ChameleonLatencySensor.Stage.CTA_FORMAT, startNanos);
+      return cta;
+    });
   }
 
   /**
@@ -131,16 +157,8 @@ public class GroupHashtagPromptCardFormatter extends LaunchpadCardFormatter {
    */
   @Override
   public Task<Optional<ImageViewModel>> getBackgroundImage(LaunchpadCardWrapper launchpadCardWrapper) {
-    GroupTrendingHashtagChameleonConfig targetChameleonConfig = findTargetChameleonConfig(launchpadCardWrapper);
-    SystemImageName systemImageName = targetChameleonConfig.hasCardImage() ? targetChameleonConfig.getCardImage().get() : DEFAULT_SYSTEM_IMAGE;
-    try {
-      return Task.value(Optional.of(
-          renderModelBuilderFactory.getDashImageViewModelBuilder().addSystemImage(systemImageName).build()));
-    } catch (ImageViewModelBuilder.BuildVerificationFailure e) {
-      // adding this since intelliJ complains about the very fact that we are using ImageViewModelBuilder
-      throw VoyagerServiceException.buildNoStacktraceException(HttpStatus.S_500_INTERNAL_SERVER_ERROR,
-          String.format("Invalid image", systemImageName), e);
-    }
+    return findTargetCardSnapshot(launchpadCardWrapper).map("getBackgroundImage",
+        snapshot -> Optional.of(snapshot.getBackgroundImage()));
   }
 
   /**
@@ -157,52 +175,121 @@ public class GroupHashtagPromptCardFormatter extends LaunchpadCardFormatter {
 
   @VisibleForTesting
   protected Url getDeeplinkUrl(String hashtag, String trackingToken) {
+    return new Url(getShareUrlTemplate().render(hashtag, trackingToken));
+  }
+
+  /**
+   * Link the share URL of the current request with placeholder values and get its template. Both the hint and the
+   * linked URL depend on the request, so this must be called on the request thread.
+   */
+  private ShareUrlTemplate getShareUrlTemplate() {
+    String hint = voyagerLocalizationService.plainText(LaunchpadTranslationKey.CARDS_GROUP_TRENDING_HASHTAG_PROMPT_STARTPOSTS);
+    String linkedUrl = linkShareUrl(hint, ShareUrlTemplate.TEXT_PLACEHOLDER, ShareUrlTemplate.TRACKING_TOKEN_PLACEHOLDER);
+    ShareUrlTemplate template = shareUrlTemplates.getIfPresent(linkedUrl);
+    if (template == null) {
+      // Concurrent misses may both compile, the templates are equivalent so the last one simply wins
+      template = ShareUrlTemplate.compile(linkedUrl, hint);
+      shareUrlTemplates.put(linkedUrl, template);
+    }
+    return template;
+  }
+
+  private String linkShareUrl(String hint, String text, String trackingToken) {
     Map<UrlAliasParameter, String> params = ImmutableMap.of(
-        NeptuneUrlAliases.NeptuneShare.Parameters.hint, voyagerLocalizationService.plainText(
-            LaunchpadTranslationKey.CARDS_GROUP_TRENDING_HASHTAG_PROMPT_STARTPOSTS),
-        NeptuneUrlAliases.NeptuneShare.Parameters.text, hashtag);
-    String url = StringUtils.replace(urlService.link(NeptuneUrlAliases.NeptuneShare.instance, Optional.of(trackingToken), params),
+        NeptuneUrlAliases.NeptuneShare.Parameters.hint, hint,
+        NeptuneUrlAliases.NeptuneShare.Parameters.text, text);
+    return StringUtils.replace(urlService.link(NeptuneUrlAliases.NeptuneShare.instance, Optional.of(trackingToken), params),
         "text=", "text=" + NEW_LINES_URL_ENCODED);
-    return new Url(url);
   }
 
   /**
-   * Find the target launchpad card config given the group ID that's stored inside launchpadCardWrapper
+   * Find the pre-rendered snapshot of the target launchpad card, building it on first use of its config. The config
+   * is fetched on the calling thread, the snapshot is only built from the config, so it reads nothing from the request.
    * @param launchpadCardWrapper
-   * @return GroupTrendingHashtagChameleonConfig
+   * @return a task of GroupHashtagPromptCardSnapshot
    */
-  GroupTrendingHashtagChameleonConfig findTargetChameleonConfig(LaunchpadCardWrapper launchpadCardWrapper) {
-    Urn groupUrn;
-    try {
-      groupUrn = launchpadCardWrapper.getBackendLaunchpadCard()
-          .getAttributes()
-          .stream()
-          .filter(attribute -> GROUP_URN_ATTRIBUTE_KEY.equals(attribute.getType()))
-          .findFirst()
-          .get().getRelatedEntities().stream().findFirst().get();
-    } catch (RestLiServiceException e) {
-      LOG.error("groupUrn is not found");
-      throw new RestLiServiceException(HttpStatus.S_404_NOT_FOUND);
+  Task<GroupHashtagPromptCardSnapshot> findTargetCardSnapshot(LaunchpadCardWrapper launchpadCardWrapper) {
+    return findTargetChameleonConfig(launchpadCardWrapper).map("findTargetCardSnapshot", this::getCardSnapshot);
+  }
+
+  @VisibleForTesting
+  GroupHashtagPromptCardSnapshot getCardSnapshot(GroupTrendingHashtagChameleonConfig config) {
+    GroupHashtagPromptCardSnapshot snapshot = cardSnapshots.getIfPresent(config);
+    if (snapshot == null) {
+      // Concurrent misses may both build, the snapshots are equivalent so the last one simply wins
+      long startNanos = System.nanoTime();
+      snapshot = buildCardSnapshot(config);
+      cardSnapshots.put(config, snapshot);
+      latencySensor.recordSince(NAME, ChameleonLatencySensor.Stage.SNAPSHOT_BUILD, startNanos);
     }
+    return snapshot;
+  }
+
+  private GroupHashtagPromptCardSnapshot buildCardSnapshot(GroupTrendingHashtagChameleonConfig config) {
+    String hashtag = config.getHashtag();
+    String subtitle = StringUtils.defaultIfNull(config.getPrompt(), "");
+    SystemImageName systemImageName = config.hasCardImage() ? config.getCardImage().get() : DEFAULT_SYSTEM_IMAGE;
+    return new GroupHashtagPromptCardSnapshot(hashtag,
+        renderModelBuilderFactory.getDashTextViewModelBuilder().setLocalizedTextV2(hashtag).build(),
+        renderModelBuilderFactory.getDashTextViewModelBuilder().setLocalizedTextV2(subtitle).build(),
+        viewModelPool.getSystemImage(systemImageName));
+  }
 
-    try {
-      Long groupId = groupUrn.getIdAsLong();
-      List<GroupTrendingHashtagChameleonConfig> maybeChameleonConfigs =
-          groupTrendingHashtagChameleonService.fetchGroupTrendingHashtags(groupId);
-      if (maybeChameleonConfigs == null || maybeChameleonConfigs.isEmpty()) {
-        LOG.error("maybeChameleonConfigs is not found or empty");
-        throw new RestLiServiceException(HttpStatus.S_404_NOT_FOUND);
-      }
-      String cardType = launchpadCardWrapper.getBackendLaunchpadCard().getCardType(); // getCardType throws error internally
-      GroupTrendingHashtagChameleonConfig targetConfig = maybeChameleonConfigs.get(cardTypeToIndexMap.getOrDefault(cardType, 1));
-      if (targetConfig == null) {
-        LOG.error("target GroupTrendingHashtagChameleonConfig is not found");
-        throw new RestLiServiceException(HttpStatus.S_404_NOT_FOUND);
-      }
-      return targetConfig;
-    } catch (RestLiServiceException e) {
-      throw new RestLiServiceException(HttpStatus.S_404_NOT_FOUND,
-          String.format("Could not fetch groupUrn {} from launchpadCardWrapper for {}", groupUrn, launchpadCardWrapper));
+  /**
+   * @return the shared CTA title of the request locale. Must be called on the request thread.
+   */
+  private TextViewModel getCtaTitle() {
+    return viewModelPool.getText(LaunchpadTranslationKey.CARDS_GROUP_TRENDING_HASHTAG_PROMPT_STARTPOSTS,
+        voyagerLocalizationService.plainText(LaunchpadTranslationKey.CARDS_GROUP_TRENDING_HASHTAG_PROMPT_STARTPOSTS),
+        () -> getTextViewModelByContent(LaunchpadTranslationKey.CARDS_GROUP_TRENDING_HASHTAG_PROMPT_STARTPOSTS));
+  }
+
+  /**
+   * @return the group urn stored in the GROUP_URN attribute of the card, if any
+   */
+  private static Optional<Urn> findGroupUrn(LaunchpadCardWrapper launchpadCardWrapper) {
+    LaunchpadCard launchpadCard = launchpadCardWrapper.getBackendLaunchpadCard();
+    if (!launchpadCard.hasAttributes()) {
+      return Optional.empty();
     }
+    return launchpadCard.getAttributes()
+        .stream()
+        .filter(attribute -> GROUP_URN_ATTRIBUTE_KEY.equals(attribute.getType()) && attribute.hasRelatedEntities())
+        .findFirst()
+        .flatMap(attribute -> attribute.getRelatedEntities().stream().findFirst());
+  }
+
+  /**
+   * Find the target launchpad card config given the group ID that's stored inside launchpadCardWrapper
+   * @param launchpadCardWrapper
+   * @return a task of GroupTrendingHashtagChameleonConfig
+   */
+  Task<GroupTrendingHashtagChameleonConfig> findTargetChameleonConfig(LaunchpadCardWrapper launchpadCardWrapper) {
+    Urn groupUrn = findGroupUrn(launchpadCardWrapper).orElseThrow(() -> {
+      LOG.error("groupUrn is not found");
+      return new RestLiServiceException(HttpStatus.S_404_NOT_FOUND);
+    });
+
+    Long groupId = groupUrn.getIdAsLong();
+    return groupTrendingHashtagChameleonService.fetchGroupTrendingHashtagsAsync(groupId)
+        .map("findTargetChameleonConfig", maybeChameleonConfigs -> {
+          if (maybeChameleonConfigs == null || maybeChameleonConfigs.isEmpty()) {
+            // Most groups have no config, so this is an expected outcome and not worth a stack trace
+            throw VoyagerServiceException.buildNoStacktraceException(HttpStatus.S_404_NOT_FOUND,
+                "No group trending hashtag config found for " + groupUrn, null);
+          }
+          try {
+            String cardType = launchpadCardWrapper.getBackendLaunchpadCard().getCardType(); // getCardType throws error internally
+            GroupTrendingHashtagChameleonConfig targetConfig = maybeChameleonConfigs.get(cardTypeToIndexMap.getOrDefault(cardType, 1));
+            if (targetConfig == null) {
+              LOG.error("target GroupTrendingHashtagChameleonConfig is not found");
+              throw new RestLiServiceException(HttpStatus.S_404_NOT_FOUND);
+            }
+            return targetConfig;
+          } catch (RestLiServiceException e) {
+            throw new RestLiServiceException(HttpStatus.S_404_NOT_FOUND,
+                String.format("Could not fetch groupUrn {} from launchpadCardWrapper for {}", groupUrn, launchpadCardWrapper));
+          }
+        });
   }
-}
\ No newline at end of file
+}
@@ -8,6 +8,7 @@ import com.linkedin.common.urn.GroupUrn;
 import com.linkedin.launchpad.Attribute;
 import com.linkedin.launchpad.AttributeArray;
 import com.linkedin.launchpad.LaunchpadCard;
+import com.linkedin.parseq.Task;
 import com.linkedin.pemberly.api.server.lix.LixService;
 import com.linkedin.pemberly.api.server.url.UrlService;
 import com.linkedin.playmt.restliplugin.server.FabricChecker;
@@ -29,9 +30,11 @@ import com.linkedin.voyager.dash.launchpad.LaunchpadCtaStyle;
 import com.linkedin.voyager.dash.launchpad.PresentationStyle;
 import com.linkedin.voyager.growth.launchpad.dash.impl.common.tracking.NeptunePageKeyConstants;
 import com.linkedin.voyager.growth.launchpad.dash.impl.common.tracking.VoyagerPageKeyConstants;
+import com.linkedin.voyager.growth.launchpad.dash.impl.formatters.LaunchpadViewModelPool;
 import com.linkedin.voyager.growth.launchpad.dash.impl.helpers.LaunchpadCardWrapper;
 import com.linkedin.voyager.growth.launchpad.dash.impl.helpers.LaunchpadDecorationUrns;
 import com.linkedin.voyager.growth.launchpad.dash.impl.helpers.groups.GroupTrendingHashtagChameleonConfig;
+import com.linkedin.voyager.growth.launchpad.dash.impl.monitoring.ChameleonLatencySensor;
 import com.linkedin.voyager.growth.launchpad.dash.impl.services.FakeLaunchpadDashLocalizationService;
 import com.linkedin.voyager.growth.launchpad.dash.impl.services.GroupTrendingHashtagChameleonService;
 import com.linkedin.voyager.growth.launchpad.dash.impl.test.builders.BackendLaunchpadCardBuilder;
@@ -88,6 +91,17 @@ public class GroupHashtagPromptCardFormatterTest extends VoyagerAsyncTaskUnitTes
     ).isEqualTo(mockData.defaultBackgroundImage.name());
   }
 
+  @Test
+  public void testCardSnapshotIsReusedAcrossRenders() {
+    Mocks mocks = new Mocks();
+    MockData mockData = new MockData();
+    Stubbing.stubGroupTrendingHashtagChameleonService(mocks, mockData);
+    TextViewModel first = await(mocks.groupHashtagPromptCardFormatter.getTitle(mockData.launchpadCardWrapperWithAttributes));
+    TextViewModel second = await(mocks.groupHashtagPromptCardFormatter.getTitle(mockData.launchpadCardWrapperWithAttributes));
+    assertThat(second).isSameAs(first);
+    assertThat(first.data().isReadOnly()).isTrue();
+  }
+
 //  launchpadCardWithEmptyImage
   @Test
   public void testPopulateLaunchpadCta() {
@@ -100,6 +114,38 @@ public class GroupHashtagPromptCardFormatterTest extends VoyagerAsyncTaskUnitTes
     assertThat(actual).isEqualTo(mockData.launchpadCta);
   }
 
+  @Test
+  public void testCtaTitleIsSharedAcrossRenders() {
+    Mocks mocks = new Mocks();
+    MockData mockData = new MockData();
+    Stubbing.stubUrlService(mocks, mockData);
+    Stubbing.stubGroupTrendingHashtagChameleonService(mocks, mockData);
+    LaunchpadCta first = await(mocks.groupHashtagPromptCardFormatter.populateLaunchpadCta(
+        LaunchpadContext.FEED, mockData.ctaType, new LaunchpadCta(), mockData.launchpadCardWrapperWithAttributes));
+    LaunchpadCta second = await(mocks.groupHashtagPromptCardFormatter.populateLaunchpadCta(
+        LaunchpadContext.FEED, mockData.ctaType, new LaunchpadCta(), mockData.launchpadCardWrapperWithAttributes));
+    assertThat(second.getCtaTitle().data()).isSameAs(first.getCtaTitle().data());
+    assertThat(first.getCtaTitle().data().isReadOnly()).isTrue();
+  }
+
+  @Test
+  public void testResponseMutationLeavesSharedViewModels() {
+    Mocks mocks = new Mocks();
+    MockData mockData = new MockData();
+    Stubbing.stubUrlService(mocks, mockData);
+    Stubbing.stubGroupTrendingHashtagChameleonService(mocks, mockData);
+    LaunchpadCta first = await(mocks.groupHashtagPromptCardFormatter.populateLaunchpadCta(
+        LaunchpadContext.FEED, mockData.ctaType, new LaunchpadCta(), mockData.launchpadCardWrapperWithAttributes));
+    first.setCtaType("other").setDeeplinkUrl(new Url("http://www.linkedin-ei.com/other"));
+    LaunchpadCta second = await(mocks.groupHashtagPromptCardFormatter.populateLaunchpadCta(
+        LaunchpadContext.FEED, mockData.ctaType, new LaunchpadCta(), mockData.launchpadCardWrapperWithAttributes));
+    assertThat(second.getCtaType()).isEqualTo(mockData.ctaType);
+    assertThat(second.getDeeplinkUrl().toString()).isEqualTo(mockData.formattedDeeplinkUrl);
+    assertThat(second.getCtaTitle()).isSameAs(first.getCtaTitle());
+    assertThat(second.getCtaTitle().getText()).isEqualTo(mockData.ctaTitle);
+    assertThatThrownBy(() -> first.getCtaTitle().setText("other")).isInstanceOf(UnsupportedOperationException.class);
+  }
+
   @Test
   public void testGetDeeplinkUrl() {
     Mocks mocks = new Mocks();
@@ -109,6 +155,55 @@ public class GroupHashtagPromptCardFormatterTest extends VoyagerAsyncTaskUnitTes
     assertThat(actual.toString()).isEqualTo(mockData.formattedDeeplinkUrl);
   }
 
+  @Test
+  public void testGetDeeplinkUrlFormEncoded() {
+    Mocks mocks = new Mocks();
+    MockData mockData = new MockData();
+    Stubbing.stubUrlServiceFormEncoded(mocks, mockData);
+    Url actual = mocks.groupHashtagPromptCardFormatter.getDeeplinkUrl("#other hashtag", mockData.trackingToken);
+    assertThat(actual.toString()).isEqualTo(mockData.formEncodedDeeplinkUrl);
+  }
+
+  @Test
+  public void testGetDeeplinkUrlLinksEveryRequest() {
+    Mocks mocks = new Mocks();
+    MockData mockData = new MockData();
+    when(mocks.urlService.link(NeptuneUrlAliases.NeptuneShare.instance,
+        Optional.of(ShareUrlTemplate.TRACKING_TOKEN_PLACEHOLDER), mockData.deeplinkTemplateParams))
+        .thenReturn(mockData.deeplinkUrlTemplate, mockData.otherHostDeeplinkUrlTemplate);
+    Url first = mocks.groupHashtagPromptCardFormatter.getDeeplinkUrl(mockData.hashtag, mockData.trackingToken);
+    Url second = mocks.groupHashtagPromptCardFormatter.getDeeplinkUrl(mockData.hashtag, mockData.trackingToken);
+    assertThat(first.toString()).isEqualTo(mockData.formattedDeeplinkUrl);
+    assertThat(second.toString()).isEqualTo(mockData.otherHostFormattedDeeplinkUrl);
+  }
+
+  @Test
+  public void testGetDeeplinkUrlWithoutTextPlaceholder() {
+    Mocks mocks = new Mocks();
+    MockData mockData = new MockData();
+    when(mocks.urlService.link(NeptuneUrlAliases.NeptuneShare.instance,
+        Optional.of(ShareUrlTemplate.TRACKING_TOKEN_PLACEHOLDER), mockData.deeplinkTemplateParams))
+        .thenReturn("http://www.linkedin-ei.com/share?trk=" + ShareUrlTemplate.TRACKING_TOKEN_PLACEHOLDER);
+    Url actual = mocks.groupHashtagPromptCardFormatter.getDeeplinkUrl(mockData.hashtag, mockData.trackingToken);
+    assertThat(actual.toString()).isEqualTo("http://www.linkedin-ei.com/share?trk=tracking token");
+  }
+
+  @Test
+  public void testPopulateLaunchpadCtaReadsRequestOnCallingThread() {
+    Mocks mocks = new Mocks();
+    MockData mockData = new MockData();
+    Stubbing.stubUrlService(mocks, mockData);
+    Stubbing.stubGroupTrendingHashtagChameleonService(mocks, mockData);
+    Task<LaunchpadCta> task = mocks.groupHashtagPromptCardFormatter.populateLaunchpadCta(
+        LaunchpadContext.FEED, mockData.ctaType, new LaunchpadCta(), mockData.launchpadCardWrapperWithAttributes);
+    // The URL is linked before the task runs, the task itself only renders it
+    verify(mocks.urlService, times(1)).link(any(), any(), any());
+    assertThat(await(task).getDeeplinkUrl().toString()).isEqualTo(mockData.formattedDeeplinkUrl);
+    verify(mocks.urlService, times(1)).link(any(), any(), any());
+    verify(mocks.urlService, never()).link(NeptuneUrlAliases.NeptuneShare.instance,
+        Optional.of(mockData.trackingToken), mockData.deeplinkParams);
+  }
+
   @Test
   public void testGetPageKey() {
     Mocks mocks = new Mocks();
@@ -129,6 +224,7 @@ public class GroupHashtagPromptCardFormatterTest extends VoyagerAsyncTaskUnitTes
     VoyagerClientInfoService clientInfoServiceStub;
     VoyagerLocalizationService voyagerLocalizationService = FakeLaunchpadDashLocalizationService.getInstance();
     RenderModelBuilderFactory renderModelBuilderFactory = new RenderModelBuilderFactory();
+    LaunchpadViewModelPool viewModelPool = new LaunchpadViewModelPool(renderModelBuilderFactory);
 
     private final GroupHashtagPromptCardFormatter groupHashtagPromptCardFormatter;
     Mocks() {
@@ -138,9 +234,11 @@ public class GroupHashtagPromptCardFormatterTest extends VoyagerAsyncTaskUnitTes
           "evtgroups__actions__start_a_post_3", 2);
 
       MockitoAnnotations.openMocks(this);
+      when(groupTrendingHashtagChameleonService.getLatencySensor()).thenReturn(ChameleonLatencySensor.DISABLED);
       groupHashtagPromptCardFormatter = new GroupHashtagPromptCardFormatter(fabricChecker, voyagerLocalizationService,
           ambryService, voyagerMemberFinder, urlService, clientInfoServiceStub, lixService,
-          renderModelBuilderFactory, trackingKeyFormatter, groupTrendingHashtagChameleonService, cardTypeToIndexMap);
+          renderModelBuilderFactory, trackingKeyFormatter, groupTrendingHashtagChameleonService, cardTypeToIndexMap,
+          viewModelPool);
     }
   }
 
@@ -158,6 +256,21 @@ public class GroupHashtagPromptCardFormatterTest extends VoyagerAsyncTaskUnitTes
     private final Map<UrlAliasParameter, String> deeplinkParams =
         ImmutableMap.of(NeptuneUrlAliases.NeptuneShare.Parameters.text, hashtag,
             NeptuneUrlAliases.NeptuneShare.Parameters.hint, ctaTitle);
+    // The URL service linked with the placeholder values, like it links deeplinkUrl with the actual ones
+    private final String deeplinkUrlTemplate = "http://www.linkedin-ei.com/share?text="
+        + ShareUrlTemplate.TEXT_PLACEHOLDER + "&hint=" + ctaTitle + "&trk=" + ShareUrlTemplate.TRACKING_TOKEN_PLACEHOLDER;
+    private final String otherHostDeeplinkUrlTemplate = "http://www.linkedin.com/share?text="
+        + ShareUrlTemplate.TEXT_PLACEHOLDER + "&hint=" + ctaTitle + "&trk=" + ShareUrlTemplate.TRACKING_TOKEN_PLACEHOLDER;
+    private final String otherHostFormattedDeeplinkUrl = "http://www.linkedin.com/share?text=%0D%0D" + hashtag
+        + "&hint=" + ctaTitle + "&trk=" + trackingToken;
+    // A URL service that form encodes the parameters
+    private final String formEncodedDeeplinkUrlTemplate = "http://www.linkedin-ei.com/share?text="
+        + ShareUrlTemplate.TEXT_PLACEHOLDER + "&hint=Start+a+post&trk=" + ShareUrlTemplate.TRACKING_TOKEN_PLACEHOLDER;
+    private final String formEncodedDeeplinkUrl =
+        "http://www.linkedin-ei.com/share?text=%0D%0D%23other+hashtag&hint=Start+a+post&trk=tracking+token";
+    private final Map<UrlAliasParameter, String> deeplinkTemplateParams =
+        ImmutableMap.of(NeptuneUrlAliases.NeptuneShare.Parameters.text, ShareUrlTemplate.TEXT_PLACEHOLDER,
+            NeptuneUrlAliases.NeptuneShare.Parameters.hint, ctaTitle);
     private final LaunchpadCta launchpadCta = new LaunchpadCta()
         .setCtaStyle(LaunchpadCtaStyle.PRIMARY)
         .setCtaType(ctaType)
@@ -190,8 +303,15 @@ public class GroupHashtagPromptCardFormatterTest extends VoyagerAsyncTaskUnitTes
 
   private static final class Stubbing {
     public static void stubUrlService(Mocks mocks, MockData mockData) {
-      when(mocks.urlService.link(NeptuneUrlAliases.NeptuneShare.instance, Optional.of(mockData.trackingToken), mockData.deeplinkParams))
-          .thenReturn(mockData.deeplinkUrl);
+      when(mocks.urlService.link(NeptuneUrlAliases.NeptuneShare.instance,
+          Optional.of(ShareUrlTemplate.TRACKING_TOKEN_PLACEHOLDER), mockData.deeplinkTemplateParams))
+          .thenReturn(mockData.deeplinkUrlTemplate);
+    }
+
+    public static void stubUrlServiceFormEncoded(Mocks mocks, MockData mockData) {
+      when(mocks.urlService.link(NeptuneUrlAliases.NeptuneShare.instance,
+          Optional.of(ShareUrlTemplate.TRACKING_TOKEN_PLACEHOLDER), mockData.deeplinkTemplateParams))
+          .thenReturn(mockData.formEncodedDeeplinkUrlTemplate);
     }
 
     public static void stubTrackingKeyFormatter(Mocks mocks, MockData mockData) {
@@ -200,15 +320,15 @@ public class GroupHashtagPromptCardFormatterTest extends VoyagerAsyncTaskUnitTes
     }
 
     public static void stubGroupTrendingHashtagChameleonService(Mocks mocks, MockData mockData) {
-      when(mocks.groupTrendingHashtagChameleonService.fetchGroupTrendingHashtags(new Long(mockData.groupId)))
-          .thenReturn(ImmutableList.of(
+      when(mocks.groupTrendingHashtagChameleonService.fetchGroupTrendingHashtagsAsync(new Long(mockData.groupId)))
+          .thenReturn(Task.value(ImmutableList.of(
               new GroupTrendingHashtagChameleonConfig()
                   .setHashtag(mockData.hashtag).setPrompt(mockData.prompt).setCardImage(mockData.backgroundImage).setCta(mockData.ctaTitle),
               new GroupTrendingHashtagChameleonConfig()
                   .setHashtag(mockData.hashtag).setPrompt(mockData.prompt),
               new GroupTrendingHashtagChameleonConfig()
                   .setHashtag(mockData.hashtag).setPrompt(mockData.prompt)
-          ));
+          )));
     }
   }
 }
\ No newline at end of file
@@ -0,0 +1,44 @@
+package com.linkedin.voyager.growth.launchpad.dash.impl.formatters.evtgroups;
+
+import com.linkedin.voyager.dash.common.image.ImageViewModel;
+import com.linkedin.voyager.dash.common.text.TextViewModel;
+
+
+/**
+ * Pre-rendered, read-only parts of a group hashtag prompt card built from one
+ * {@link com.linkedin.voyager.growth.launchpad.dash.impl.helpers.groups.GroupTrendingHashtagChameleonConfig}.
+ * The view models are shared across requests, so they are made read-only and must never be mutated.
+ */
+final class GroupHashtagPromptCardSnapshot {
+  private final String hashtag;
+  private final TextViewModel title;
+  private final TextViewModel subtitle;
+  private final ImageViewModel backgroundImage;
+
+  GroupHashtagPromptCardSnapshot(String hashtag, TextViewModel title, TextViewModel subtitle,
+      ImageViewModel backgroundImage) {
+    title.data().makeReadOnly();
+    subtitle.data().makeReadOnly();
+    backgroundImage.data().makeReadOnly();
+    this.hashtag = hashtag;
+    this.title = title;
+    this.subtitle = subtitle;
+    this.backgroundImage = backgroundImage;
+  }
+
+  String getHashtag() {
+    return hashtag;
+  }
+
+  TextViewModel getTitle() {
+    return title;
+  }
+
+  TextViewModel getSubtitle() {
+    return subtitle;
+  }
+
+  ImageViewModel getBackgroundImage() {
+    return backgroundImage;
+  }
+}
@@ -0,0 +1,95 @@
+package com.linkedin.voyager.growth.launchpad.dash.impl.formatters.evtgroups;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.escape.Escaper;
+import com.google.common.escape.Escapers;
+import com.google.common.net.PercentEscaper;
+import com.google.common.net.UrlEscapers;
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ * A share deeplink URL compiled once from a URL linked with placeholder values, so rendering it for a card only
+ * substitutes the encoded text and tracking token into a pre-sized string.
+ * The placeholders only use unreserved characters, so the URL service leaves them as they are. The values are encoded
+ * the way the URL service encoded the other parameters of the URL, so a rendered URL equals the linked one.
+ * A template only depends on the linked URL, so templates can be shared by every request linked to the same URL.
+ */
+final class ShareUrlTemplate {
+  static final String TEXT_PLACEHOLDER = "lpShareTextPlaceholder";
+  static final String TRACKING_TOKEN_PLACEHOLDER = "lpShareTrackingTokenPlaceholder";
+  // The first two leave the same characters as they are, they only differ in how spaces are encoded. The last one is
+  // for URL services that do not encode values at all.
+  private static final List<Escaper> ESCAPERS = ImmutableList.of(
+      UrlEscapers.urlFormParameterEscaper(),
+      new PercentEscaper("-_.*", false),
+      Escapers.nullEscaper());
+
+  // The literal parts of the URL, one more than there are slots
+  private final String[] literals;
+  // Whether each slot between two literals takes the text, otherwise it takes the tracking token
+  private final boolean[] textSlots;
+  private final int literalsLength;
+  private final Escaper escaper;
+
+  private ShareUrlTemplate(List<String> literals, List<Boolean> textSlots, Escaper escaper) {
+    this.literals = literals.toArray(new String[0]);
+    this.textSlots = new boolean[textSlots.size()];
+    for (int i = 0; i < this.textSlots.length; i++) {
+      this.textSlots[i] = textSlots.get(i);
+    }
+    int length = 0;
+    for (String literal : this.literals) {
+      length += literal.length();
+    }
+    this.literalsLength = length;
+    this.escaper = escaper;
+  }
+
+  /**
+   * @param linkedUrl a URL linked with {@link #TEXT_PLACEHOLDER} and {@link #TRACKING_TOKEN_PLACEHOLDER}
+   * @param linkedValue another parameter value the URL was linked with, to tell how the URL service encodes values.
+   * Values without spaces can not tell, they are then form encoded.
+   * @return the template. A placeholder the URL service left out of the URL gets no slot, so its value is left out
+   * of the rendered URLs too.
+   */
+  static ShareUrlTemplate compile(String linkedUrl, String linkedValue) {
+    List<String> literals = new ArrayList<>();
+    List<Boolean> textSlots = new ArrayList<>();
+    int start = 0;
+    while (true) {
+      int text = linkedUrl.indexOf(TEXT_PLACEHOLDER, start);
+      int trackingToken = linkedUrl.indexOf(TRACKING_TOKEN_PLACEHOLDER, start);
+      if (text < 0 && trackingToken < 0) {
+        break;
+      }
+      boolean isText = trackingToken < 0 || (text >= 0 && text < trackingToken);
+      int slot = isText ? text : trackingToken;
+      literals.add(linkedUrl.substring(start, slot));
+      textSlots.add(isText);
+      start = slot + (isText ? TEXT_PLACEHOLDER : TRACKING_TOKEN_PLACEHOLDER).length();
+    }
+    literals.add(linkedUrl.substring(start));
+    Escaper escaper = ESCAPERS.stream()
+        .filter(candidate -> linkedUrl.contains(candidate.escape(linkedValue)))
+        .findFirst()
+        .orElse(ESCAPERS.get(0));
+    return new ShareUrlTemplate(literals, textSlots, escaper);
+  }
+
+  /**
+   * @return the URL with the encoded text and tracking token substituted. Only does string work, so it can run on any
+   * thread.
+   */
+  String render(String text, String trackingToken) {
+    String encodedText = escaper.escape(text);
+    String encodedTrackingToken = escaper.escape(trackingToken);
+    StringBuilder url = new StringBuilder(literalsLength
+        + textSlots.length * Math.max(encodedText.length(), encodedTrackingToken.length()));
+    for (int i = 0; i < textSlots.length; i++) {
+      url.append(literals[i]).append(textSlots[i] ? encodedText : encodedTrackingToken);
+    }
+    return url.append(literals[textSlots.length]).toString();
+  }
+}
@@ -0,0 +1,56 @@
+package com.linkedin.voyager.growth.launchpad.dash.impl.formatters.evtgroups;
+
+import com.linkedin.voyager.common.test.helpers.test.VoyagerAsyncTaskUnitTest;
+import org.testng.annotations.Test;
+
+
+/**
+ * Unit test for {@link ShareUrlTemplate}.
+ * */
+public class ShareUrlTemplateTest extends VoyagerAsyncTaskUnitTest {
+
+  @Test(description = "Test the text and tracking token are form encoded into their slots")
+  public void testRender() {
+    ShareUrlTemplate template = ShareUrlTemplate.compile("https://www.linkedin.com/share?trk="
+        + ShareUrlTemplate.TRACKING_TOKEN_PLACEHOLDER + "&text=%0D%0D" + ShareUrlTemplate.TEXT_PLACEHOLDER
+        + "&hint=Start+a+post", "Start a post");
+
+    String actual = template.render("#latte art&co", "token/1=2");
+
+    assertThat(actual).isEqualTo(
+        "https://www.linkedin.com/share?trk=token%2F1%3D2&text=%0D%0D%23latte+art%26co&hint=Start+a+post");
+  }
+
+  @Test(description = "Test the values are percent encoded if the URL service percent encoded the linked value")
+  public void testRenderPercentEncoded() {
+    ShareUrlTemplate template = ShareUrlTemplate.compile("https://www.linkedin.com/share?trk="
+        + ShareUrlTemplate.TRACKING_TOKEN_PLACEHOLDER + "&text=%0D%0D" + ShareUrlTemplate.TEXT_PLACEHOLDER
+        + "&hint=Start%20a%20post", "Start a post");
+
+    String actual = template.render("#latte art&co", "token/1=2");
+
+    assertThat(actual).isEqualTo(
+        "https://www.linkedin.com/share?trk=token%2F1%3D2&text=%0D%0D%23latte%20art%26co&hint=Start%20a%20post");
+  }
+
+  @Test(description = "Test the values are left as they are if the URL service left the linked value as it is")
+  public void testRenderUnencoded() {
+    ShareUrlTemplate template = ShareUrlTemplate.compile("http://www.linkedin-ei.com/share?text="
+        + ShareUrlTemplate.TEXT_PLACEHOLDER + "&hint=Start a post&trk=" + ShareUrlTemplate.TRACKING_TOKEN_PLACEHOLDER,
+        "Start a post");
+
+    String actual = template.render("latteArt", "tracking token");
+
+    assertThat(actual).isEqualTo("http://www.linkedin-ei.com/share?text=latteArt&hint=Start a post&trk=tracking token");
+  }
+
+  @Test(description = "Test a value whose placeholder the URL service left out is left out of the rendered URL")
+  public void testRenderWithoutPlaceholder() {
+    ShareUrlTemplate template = ShareUrlTemplate.compile("https://www.linkedin.com/share?text="
+        + ShareUrlTemplate.TEXT_PLACEHOLDER, "Start a post");
+
+    String actual = template.render("#latte art", "token");
+
+    assertThat(actual).isEqualTo("https://www.linkedin.com/share?text=%23latte+art");
+  }
+}
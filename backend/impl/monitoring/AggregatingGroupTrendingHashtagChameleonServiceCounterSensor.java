@@ -0,0 +1,240 @@
+package com.linkedin.voyager.growth.launchpad.dash.impl.monitoring;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.primitives.Longs;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.linkedin.voyager.common.core.api.monitoring.Counter;
+import com.linkedin.voyager.common.core.api.services.VoyagerClientInfoService;
+import java.time.Duration;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import javax.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+
+/**
+ * Counter sensor with bounded metric cardinality and a lock-free hot path.
+ * Increments only bump a striped {@link LongAdder} per service and attribute. One in sampleRate increments also
+ * feeds a small heavy-hitter sketch of group IDs. {@link #flush()} then reports the top K groups per attribute under
+ * their own group dimension and everything else under {@link #OTHER_GROUPS}, so the number of series stays flat
+ * however many groups there are. Group IDs stay numbers until then, only the reported ones are turned into strings.
+ * Counts only reach the frequency counter on {@link #flush()}, which {@link #startFlushing(Duration)} runs
+ * periodically, with one increment of the aggregated count per series. {@link #close()} stops it and flushes what is
+ * left.
+ */
+public class AggregatingGroupTrendingHashtagChameleonServiceCounterSensor
+    extends GroupTrendingHashtagChameleonServiceCounterSensor implements AutoCloseable {
+  public static final String OTHER_GROUPS = "other";
+  private static final Logger LOG =
+      LoggerFactory.getLogger(AggregatingGroupTrendingHashtagChameleonServiceCounterSensor.class);
+  private static final long SHUTDOWN_TIMEOUT_SECONDS = 5L;
+
+  private final Counter frequencyCounter;
+  private final int topK;
+  private final int sampleRate;
+  private final ConcurrentMap<String, AttributeCounter[]> countersByService = new ConcurrentHashMap<>();
+  @Nullable
+  private ScheduledExecutorService flushScheduler;
+
+  /**
+   * @param topK number of heaviest groups reported under their own group dimension, per attribute and flush
+   * @param sampleRate one in sampleRate increments updates the heavy-hitter sketch
+   */
+  public AggregatingGroupTrendingHashtagChameleonServiceCounterSensor(Counter frequencyCounter,
+      VoyagerClientInfoService voyagerClientInfoService, int topK, int sampleRate) {
+    super(frequencyCounter, voyagerClientInfoService);
+    this.frequencyCounter = frequencyCounter;
+    this.topK = topK;
+    this.sampleRate = Math.max(1, sampleRate);
+  }
+
+  /**
+   * Count a group ID given as a string. One that is not a number is only counted under {@link #OTHER_GROUPS}.
+   */
+  @Override
+  public void increment(String groupId, String serviceName, Attribute attribute) {
+    Long parsedGroupId = Longs.tryParse(groupId);
+    if (parsedGroupId == null) {
+      getCounter(serviceName, attribute).total.increment();
+      return;
+    }
+    increment(parsedGroupId.longValue(), serviceName, attribute);
+  }
+
+  /**
+   * Count a group ID without turning it into a string, for callers on the request path
+   */
+  public void increment(long groupId, String serviceName, Attribute attribute) {
+    AttributeCounter counter = getCounter(serviceName, attribute);
+    counter.total.increment();
+    if (sampleRate == 1 || ThreadLocalRandom.current().nextInt(sampleRate) == 0) {
+      counter.groups.offer(groupId);
+    }
+  }
+
+  /**
+   * Flush periodically on a scheduler owned by the sensor, until it is closed
+   */
+  public synchronized void startFlushing(Duration flushInterval) {
+    long flushIntervalMillis = flushInterval.toMillis();
+    if (flushScheduler != null || flushIntervalMillis <= 0) {
+      return;
+    }
+    flushScheduler = Executors.newSingleThreadScheduledExecutor(
+        new ThreadFactoryBuilder().setNameFormat("group-trending-hashtag-sensor-flush-%d").setDaemon(true).build());
+    flushScheduler.scheduleWithFixedDelay(() -> {
+      try {
+        flush();
+      } catch (RuntimeException e) {
+        // A task that throws is never run again by the scheduler, so failures are only logged
+        LOG.warn("Group trending hashtag counter flush failed", e);
+      }
+    }, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Stop the periodic flushes, then flush the counts aggregated since the last one so they are not lost
+   */
+  @Override
+  public synchronized void close() {
+    if (flushScheduler != null) {
+      flushScheduler.shutdown();
+      try {
+        if (!flushScheduler.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+          flushScheduler.shutdownNow();
+        }
+      } catch (InterruptedException e) {
+        flushScheduler.shutdownNow();
+        Thread.currentThread().interrupt();
+      }
+      flushScheduler = null;
+    }
+    flush();
+  }
+
+  /**
+   * Report the counts aggregated since the previous flush to the frequency counter and reset them
+   */
+  public void flush() {
+    for (Map.Entry<String, AttributeCounter[]> serviceCounters : countersByService.entrySet()) {
+      Attribute[] attributes = Attribute.values();
+      for (int i = 0; i < attributes.length; i++) {
+        AttributeCounter counter = serviceCounters.getValue()[i];
+        long remaining = counter.total.sumThenReset();
+        for (Map.Entry<Long, Long> group : counter.groups.drainTopK(topK).entrySet()) {
+          long count = Math.min(remaining, group.getValue() * sampleRate);
+          emit(String.valueOf(group.getKey()), serviceCounters.getKey(), attributes[i], count);
+          remaining -= count;
+        }
+        emit(OTHER_GROUPS, serviceCounters.getKey(), attributes[i], remaining);
+      }
+    }
+  }
+
+  /**
+   * Report the whole count in one increment. Flushes run off the request path, where there is no client to resolve,
+   * so the aggregated series carry no client dimension.
+   */
+  @VisibleForTesting
+  void emit(String groupId, String serviceName, Attribute attribute, long count) {
+    if (count > 0) {
+      frequencyCounter.increment(count, groupId, serviceName, attribute.name());
+    }
+  }
+
+  private AttributeCounter getCounter(String serviceName, Attribute attribute) {
+    return countersByService.computeIfAbsent(serviceName, ignored -> newAttributeCounters())[attribute.ordinal()];
+  }
+
+  private AttributeCounter[] newAttributeCounters() {
+    AttributeCounter[] counters = new AttributeCounter[Attribute.values().length];
+    for (int i = 0; i < counters.length; i++) {
+      counters[i] = new AttributeCounter(topK);
+    }
+    return counters;
+  }
+
+  private static final class AttributeCounter {
+    private final LongAdder total = new LongAdder();
+    private final HeavyHitters groups;
+
+    private AttributeCounter(int topK) {
+      // Track a few more candidates than reported, so the reported ones are accurate
+      this.groups = new HeavyHitters(Math.max(1, topK) * 4);
+    }
+  }
+
+  /**
+   * Space-Saving sketch: keeps about capacity items, a new item replaces the least frequent one and inherits its
+   * count. Lock-free, so concurrent offers may briefly overshoot the capacity or lose a replaced count, which only
+   * blurs the tail of an approximate ranking.
+   */
+  @VisibleForTesting
+  static final class HeavyHitters {
+    private final int capacity;
+    private final ConcurrentMap<Long, LongAdder> counts;
+
+    HeavyHitters(int capacity) {
+      this.capacity = capacity;
+      this.counts = new ConcurrentHashMap<>(capacity * 2);
+    }
+
+    void offer(long item) {
+      LongAdder count = counts.get(item);
+      if (count != null) {
+        count.increment();
+        return;
+      }
+      if (counts.size() < capacity) {
+        counts.computeIfAbsent(item, ignored -> new LongAdder()).increment();
+        return;
+      }
+      Long minItem = null;
+      LongAdder minAdder = null;
+      long minCount = Long.MAX_VALUE;
+      for (Map.Entry<Long, LongAdder> entry : counts.entrySet()) {
+        long entryCount = entry.getValue().sum();
+        if (entryCount < minCount) {
+          minItem = entry.getKey();
+          minAdder = entry.getValue();
+          minCount = entryCount;
+        }
+      }
+      if (minItem != null && counts.remove(minItem, minAdder)) {
+        LongAdder replacement = new LongAdder();
+        replacement.add(minCount);
+        counts.merge(item, replacement, (current, ignored) -> current).increment();
+      }
+    }
+
+    /**
+     * @return the k most frequent items with their counts, heaviest first, and reset the sketch
+     */
+    Map<Long, Long> drainTopK(int k) {
+      List<Map.Entry<Long, Long>> entries = new ArrayList<>();
+      for (Long item : counts.keySet()) {
+        LongAdder count = counts.remove(item);
+        if (count != null) {
+          entries.add(new AbstractMap.SimpleImmutableEntry<>(item, count.sum()));
+        }
+      }
+      entries.sort((a, b) -> Long.compare(b.getValue(), a.getValue()));
+      Map<Long, Long> topK = new LinkedHashMap<>();
+      for (int i = 0; i < Math.min(k, entries.size()); i++) {
+        topK.put(entries.get(i).getKey(), entries.get(i).getValue());
+      }
+      return topK;
+    }
+  }
+}
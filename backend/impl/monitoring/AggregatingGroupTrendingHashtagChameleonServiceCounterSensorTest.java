@@ -0,0 +1,114 @@
+package com.linkedin.voyager.growth.launchpad.dash.impl.monitoring;
+
+import com.linkedin.voyager.common.core.api.monitoring.Counter;
+import com.linkedin.voyager.common.core.api.services.VoyagerClientInfoService;
+import com.linkedin.voyager.common.test.helpers.test.VoyagerAsyncTaskUnitTest;
+import java.time.Duration;
+import java.util.Map;
+import org.testng.annotations.Test;
+
+import static com.linkedin.voyager.growth.launchpad.dash.impl.monitoring.GroupTrendingHashtagChameleonServiceCounterSensor.Attribute.*;
+import static org.mockito.Mockito.*;
+
+
+/**
+ * Unit test for {@link AggregatingGroupTrendingHashtagChameleonServiceCounterSensor}.
+ * */
+public class AggregatingGroupTrendingHashtagChameleonServiceCounterSensorTest extends VoyagerAsyncTaskUnitTest {
+  private static final String SERVICE_NAME = "GroupTrendingHashtagChameleonService";
+
+  @Test(description = "Test the top groups keep their own dimension and the rest is reported as other")
+  public void testFlushReportsTopGroupsAndOther() {
+    AggregatingGroupTrendingHashtagChameleonServiceCounterSensor sensor = spy(
+        new AggregatingGroupTrendingHashtagChameleonServiceCounterSensor(mock(Counter.class),
+            mock(VoyagerClientInfoService.class), 1, 1));
+
+    for (int i = 0; i < 5; i++) {
+      sensor.increment("1", SERVICE_NAME, GROUP_TRENDING_HASHTAG_CHAMELEON_CONFIG_REQUEST);
+    }
+    sensor.increment("2", SERVICE_NAME, GROUP_TRENDING_HASHTAG_CHAMELEON_CONFIG_REQUEST);
+    sensor.increment("3", SERVICE_NAME, GROUP_TRENDING_HASHTAG_CHAMELEON_CONFIG_REQUEST);
+    sensor.flush();
+
+    verify(sensor).emit("1", SERVICE_NAME, GROUP_TRENDING_HASHTAG_CHAMELEON_CONFIG_REQUEST, 5);
+    verify(sensor).emit(AggregatingGroupTrendingHashtagChameleonServiceCounterSensor.OTHER_GROUPS, SERVICE_NAME,
+        GROUP_TRENDING_HASHTAG_CHAMELEON_CONFIG_REQUEST, 2);
+  }
+
+  @Test(description = "Test a flush resets the aggregated counts")
+  public void testFlushResetsCounts() {
+    AggregatingGroupTrendingHashtagChameleonServiceCounterSensor sensor = spy(
+        new AggregatingGroupTrendingHashtagChameleonServiceCounterSensor(mock(Counter.class),
+            mock(VoyagerClientInfoService.class), 1, 1));
+
+    sensor.increment("1", SERVICE_NAME, GROUP_TRENDING_HASHTAG_CHAMELEON_CONFIG_ERROR);
+    sensor.flush();
+    sensor.flush();
+
+    verify(sensor, times(1)).emit("1", SERVICE_NAME, GROUP_TRENDING_HASHTAG_CHAMELEON_CONFIG_ERROR, 1);
+  }
+
+  @Test(description = "Test each aggregated count is reported in a single increment, without resolving the client")
+  public void testFlushEmitsOneIncrementPerSeries() {
+    Counter frequencyCounter = mock(Counter.class);
+    VoyagerClientInfoService clientInfoService = mock(VoyagerClientInfoService.class);
+    AggregatingGroupTrendingHashtagChameleonServiceCounterSensor sensor =
+        new AggregatingGroupTrendingHashtagChameleonServiceCounterSensor(frequencyCounter, clientInfoService, 1, 1);
+
+    for (int i = 0; i < 5; i++) {
+      sensor.increment("1", SERVICE_NAME, GROUP_TRENDING_HASHTAG_CHAMELEON_CONFIG_REQUEST);
+    }
+    sensor.flush();
+
+    verify(frequencyCounter, times(1)).increment(5L, "1", SERVICE_NAME,
+        GROUP_TRENDING_HASHTAG_CHAMELEON_CONFIG_REQUEST.name());
+    verifyNoMoreInteractions(frequencyCounter);
+    verifyNoInteractions(clientInfoService);
+  }
+
+  @Test(description = "Test the sketch keeps the heaviest items within its capacity")
+  public void testHeavyHitters() {
+    AggregatingGroupTrendingHashtagChameleonServiceCounterSensor.HeavyHitters heavyHitters =
+        new AggregatingGroupTrendingHashtagChameleonServiceCounterSensor.HeavyHitters(2);
+
+    for (int i = 0; i < 10; i++) {
+      heavyHitters.offer(1L);
+    }
+    heavyHitters.offer(2L);
+    heavyHitters.offer(3L);
+    heavyHitters.offer(4L);
+    Map<Long, Long> topK = heavyHitters.drainTopK(1);
+
+    assertThat(topK).containsOnlyKeys(1L);
+    assertThat(topK.get(1L)).isEqualTo(10L);
+  }
+
+  @Test(description = "Test numeric and string group IDs are counted as the same group, other IDs as other")
+  public void testIncrementNumericGroupId() {
+    AggregatingGroupTrendingHashtagChameleonServiceCounterSensor sensor = spy(
+        new AggregatingGroupTrendingHashtagChameleonServiceCounterSensor(mock(Counter.class),
+            mock(VoyagerClientInfoService.class), 1, 1));
+
+    sensor.increment(1L, SERVICE_NAME, GROUP_TRENDING_HASHTAG_CHAMELEON_CONFIG_REQUEST);
+    sensor.increment("1", SERVICE_NAME, GROUP_TRENDING_HASHTAG_CHAMELEON_CONFIG_REQUEST);
+    sensor.increment("unknown", SERVICE_NAME, GROUP_TRENDING_HASHTAG_CHAMELEON_CONFIG_REQUEST);
+    sensor.flush();
+
+    verify(sensor).emit("1", SERVICE_NAME, GROUP_TRENDING_HASHTAG_CHAMELEON_CONFIG_REQUEST, 2);
+    verify(sensor).emit(AggregatingGroupTrendingHashtagChameleonServiceCounterSensor.OTHER_GROUPS, SERVICE_NAME,
+        GROUP_TRENDING_HASHTAG_CHAMELEON_CONFIG_REQUEST, 1);
+  }
+
+  @Test(description = "Test closing the sensor flushes the counts aggregated since the last flush")
+  public void testCloseFlushes() {
+    AggregatingGroupTrendingHashtagChameleonServiceCounterSensor sensor = spy(
+        new AggregatingGroupTrendingHashtagChameleonServiceCounterSensor(mock(Counter.class),
+            mock(VoyagerClientInfoService.class), 1, 1));
+    sensor.startFlushing(Duration.ofHours(1));
+
+    sensor.increment(1L, SERVICE_NAME, GROUP_TRENDING_HASHTAG_CHAMELEON_CONFIG_ERROR);
+    sensor.close();
+
+    verify(sensor, times(1)).emit("1", SERVICE_NAME, GROUP_TRENDING_HASHTAG_CHAMELEON_CONFIG_ERROR, 1);
+  }
+}
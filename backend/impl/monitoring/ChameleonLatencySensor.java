@@ -0,0 +1,153 @@
+package com.linkedin.voyager.growth.launchpad.dash.impl.monitoring;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.linkedin.voyager.common.core.api.monitoring.Counter;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+
+/**
+ * Latency histograms of the Chameleon fetch path, per service name and {@link Stage}.
+ * Recording is lock-free and allocation free. {@link #report()} reports the percentiles of the latencies recorded
+ * since its previous call to the frequency counter, and is meant to be called every {@link #getReportInterval()}.
+ */
+public class ChameleonLatencySensor {
+  public static final ChameleonLatencySensor DISABLED = new ChameleonLatencySensor(null, Duration.ZERO);
+  // Slower calls are recorded as this value, they are timed out long before anyway
+  private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(1);
+  private static final int SIGNIFICANT_DIGITS = 2;
+
+  public enum Stage {
+    // A single getConfigs call to Chameleon
+    CONFIG_FETCH,
+    // A single i18n content call to Chameleon
+    CONTENT_RESOLVE,
+    // Resolution of all the i18n contents of a config, including the wait for concurrent calls
+    CONTENT_BATCH,
+    // Payload parsing and model building of a fetched config, including its content resolution
+    CONFIG_BUILD,
+    // A whole config load, from the Chameleon call to the built models
+    CONFIG_LOAD,
+    // Population of a card CTA, which is built for every card since it holds the tracking token
+    CTA_FORMAT,
+    // Build of the pre-rendered snapshot of a card, once per config
+    SNAPSHOT_BUILD
+  }
+
+  /**
+   * Statistics reported for every series, as the last dimension of the frequency counter
+   */
+  public enum Statistic {
+    COUNT,
+    P50_MICROS,
+    P90_MICROS,
+    P99_MICROS,
+    P999_MICROS,
+    MAX_MICROS
+  }
+
+  @Nullable
+  private final Counter frequencyCounter;
+  private final Duration reportInterval;
+  private final ConcurrentMap<String, Recorder[]> recordersByService = new ConcurrentHashMap<>();
+
+  /**
+   * @param frequencyCounter the percentiles are reported to, or null to disable the sensor
+   */
+  public ChameleonLatencySensor(@Nullable Counter frequencyCounter, Duration reportInterval) {
+    this.frequencyCounter = frequencyCounter;
+    this.reportInterval = reportInterval;
+  }
+
+  public boolean isEnabled() {
+    return frequencyCounter != null;
+  }
+
+  public Duration getReportInterval() {
+    return reportInterval;
+  }
+
+  /**
+   * Record the time elapsed since startNanos, as returned by {@link System#nanoTime()}
+   */
+  public void recordSince(String serviceName, Stage stage, long startNanos) {
+    record(serviceName, stage, System.nanoTime() - startNanos);
+  }
+
+  public void record(String serviceName, Stage stage, long elapsedNanos) {
+    if (frequencyCounter == null) {
+      return;
+    }
+    recordersByService.computeIfAbsent(serviceName, ignored -> newRecorders())[stage.ordinal()]
+        .recordValue(Math.max(0, Math.min(elapsedNanos, HIGHEST_TRACKABLE_NANOS)));
+  }
+
+  /**
+   * Report the count and percentiles of every series that recorded latencies since the previous report, under the
+   * service name, the stage and the {@link Statistic}
+   */
+  public void report() {
+    if (frequencyCounter == null) {
+      return;
+    }
+    Stage[] stages = Stage.values();
+    recordersByService.forEach((serviceName, recorders) -> {
+      for (int i = 0; i < stages.length; i++) {
+        Histogram histogram = recorders[i].getIntervalHistogram();
+        if (histogram.getTotalCount() > 0) {
+          report(serviceName, stages[i], histogram);
+        }
+      }
+    });
+  }
+
+  private void report(String serviceName, Stage stage, Histogram histogram) {
+    emit(serviceName, stage, Statistic.COUNT, histogram.getTotalCount());
+    emit(serviceName, stage, Statistic.P50_MICROS, toMicros(histogram.getValueAtPercentile(50)));
+    emit(serviceName, stage, Statistic.P90_MICROS, toMicros(histogram.getValueAtPercentile(90)));
+    emit(serviceName, stage, Statistic.P99_MICROS, toMicros(histogram.getValueAtPercentile(99)));
+    emit(serviceName, stage, Statistic.P999_MICROS, toMicros(histogram.getValueAtPercentile(99.9)));
+    emit(serviceName, stage, Statistic.MAX_MICROS, toMicros(histogram.getMaxValue()));
+  }
+
+  private void emit(String serviceName, Stage stage, Statistic statistic, long value) {
+    frequencyCounter.increment(value, serviceName, stage.name(), statistic.name());
+  }
+
+  /**
+   * @return the latencies recorded since the previous snapshot, in nanoseconds, by "serviceName.STAGE"
+   */
+  @VisibleForTesting
+  Map<String, Histogram> snapshot() {
+    Map<String, Histogram> histograms = new HashMap<>();
+    Stage[] stages = Stage.values();
+    recordersByService.forEach((serviceName, recorders) -> {
+      for (int i = 0; i < stages.length; i++) {
+        Histogram histogram = recorders[i].getIntervalHistogram();
+        if (histogram.getTotalCount() > 0) {
+          histograms.put(serviceName + "." + stages[i], histogram);
+        }
+      }
+    });
+    return histograms;
+  }
+
+  private static Recorder[] newRecorders() {
+    Recorder[] recorders = new Recorder[Stage.values().length];
+    for (int i = 0; i < recorders.length; i++) {
+      recorders[i] = new Recorder(HIGHEST_TRACKABLE_NANOS, SIGNIFICANT_DIGITS);
+    }
+    return recorders;
+  }
+
+  private static long toMicros(long nanos) {
+    return TimeUnit.NANOSECONDS.toMicros(nanos);
+  }
+}
@@ -0,0 +1,66 @@
+package com.linkedin.voyager.growth.launchpad.dash.impl.monitoring;
+
+import com.linkedin.voyager.common.core.api.monitoring.Counter;
+import com.linkedin.voyager.common.test.helpers.test.VoyagerAsyncTaskUnitTest;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.HdrHistogram.Histogram;
+import org.testng.annotations.Test;
+
+import static org.mockito.Mockito.*;
+
+
+/**
+ * Unit test for {@link ChameleonLatencySensor}.
+ * */
+public class ChameleonLatencySensorTest extends VoyagerAsyncTaskUnitTest {
+  private static final String SERVICE_NAME = "GroupTrendingHashtagChameleonService";
+
+  @Test(description = "Test latencies are recorded per service and stage, and reset by a snapshot")
+  public void testSnapshotPerServiceAndStage() {
+    ChameleonLatencySensor sensor = new ChameleonLatencySensor(mock(Counter.class), Duration.ofMinutes(1));
+
+    sensor.record(SERVICE_NAME, ChameleonLatencySensor.Stage.CONFIG_FETCH, TimeUnit.MILLISECONDS.toNanos(10));
+    sensor.record(SERVICE_NAME, ChameleonLatencySensor.Stage.CONFIG_FETCH, TimeUnit.MILLISECONDS.toNanos(20));
+    sensor.record(SERVICE_NAME, ChameleonLatencySensor.Stage.CONTENT_RESOLVE, TimeUnit.MILLISECONDS.toNanos(5));
+    Map<String, Histogram> snapshot = sensor.snapshot();
+
+    assertThat(snapshot).containsOnlyKeys(SERVICE_NAME + ".CONFIG_FETCH", SERVICE_NAME + ".CONTENT_RESOLVE");
+    assertThat(snapshot.get(SERVICE_NAME + ".CONFIG_FETCH").getTotalCount()).isEqualTo(2);
+    assertThat(sensor.snapshot()).isEmpty();
+  }
+
+  @Test(description = "Test latencies above the trackable range are clamped instead of failing")
+  public void testRecordClampsOutliers() {
+    ChameleonLatencySensor sensor = new ChameleonLatencySensor(mock(Counter.class), Duration.ofMinutes(1));
+
+    sensor.record(SERVICE_NAME, ChameleonLatencySensor.Stage.CONFIG_LOAD, TimeUnit.HOURS.toNanos(1));
+
+    assertThat(sensor.snapshot().get(SERVICE_NAME + ".CONFIG_LOAD").getTotalCount()).isEqualTo(1);
+  }
+
+  @Test(description = "Test the count and percentiles of each series are reported to the frequency counter")
+  public void testReport() {
+    Counter frequencyCounter = mock(Counter.class);
+    ChameleonLatencySensor sensor = new ChameleonLatencySensor(frequencyCounter, Duration.ofMinutes(1));
+
+    sensor.record(SERVICE_NAME, ChameleonLatencySensor.Stage.SNAPSHOT_BUILD, TimeUnit.MILLISECONDS.toNanos(10));
+    sensor.report();
+    sensor.report();
+
+    verify(frequencyCounter, times(1)).increment(1L, SERVICE_NAME, "SNAPSHOT_BUILD", "COUNT");
+    // Values are recorded with 2 significant digits
+    verify(frequencyCounter, times(1)).increment(longThat(micros -> Math.abs(micros - 10_000L) <= 100),
+        eq(SERVICE_NAME), eq("SNAPSHOT_BUILD"), eq("P50_MICROS"));
+    verify(frequencyCounter, times(ChameleonLatencySensor.Statistic.values().length))
+        .increment(anyLong(), eq(SERVICE_NAME), eq("SNAPSHOT_BUILD"), anyString());
+  }
+
+  @Test(description = "Test the disabled sensor records nothing")
+  public void testDisabledSensor() {
+    ChameleonLatencySensor.DISABLED.record(SERVICE_NAME, ChameleonLatencySensor.Stage.CONFIG_FETCH, 1);
+
+    assertThat(ChameleonLatencySensor.DISABLED.snapshot()).isEmpty();
+  }
+}
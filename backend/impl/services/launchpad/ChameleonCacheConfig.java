@@ -0,0 +1,61 @@
+package com.linkedin.voyager.growth.launchpad.dash.impl.services;
+
+import java.time.Duration;
+import lombok.Builder;
+import lombok.Value;
+
+
+/**
+ * Tuning knobs for the process-wide cache of Chameleon configs
+ */
+@Value
+@Builder
+public class ChameleonCacheConfig {
+  public static final ChameleonCacheConfig DISABLED = ChameleonCacheConfig.builder().enabled(false).build();
+
+  @Builder.Default
+  boolean enabled = true;
+
+  /**
+   * Maximum number of cached entries
+   */
+  @Builder.Default
+  long maxSize = 10_000;
+
+  /**
+   * Entries are evicted once they are older than this
+   */
+  @Builder.Default
+  Duration ttl = Duration.ofMinutes(30);
+
+  /**
+   * Negative results (no config found) are evicted once they are older than this.
+   * Kept short, so a newly created config shows up quickly.
+   */
+  @Builder.Default
+  Duration negativeTtl = Duration.ofMinutes(2);
+
+  /**
+   * How long an expired entry is kept as the last known good value, served when reloading it fails
+   */
+  @Builder.Default
+  Duration lastKnownGoodRetention = Duration.ofHours(1);
+
+  /**
+   * Entries older than this are still served, while a single background reload replaces them
+   */
+  @Builder.Default
+  Duration refreshAfter = Duration.ofMinutes(5);
+
+  /**
+   * How often hot entries are reloaded in the background, regardless of their age. Zero disables the sweep.
+   */
+  @Builder.Default
+  Duration hotRefreshInterval = Duration.ZERO;
+
+  /**
+   * Reads an entry needs between two sweeps to count as hot
+   */
+  @Builder.Default
+  long hotKeyMinHits = 2;
+}
@@ -0,0 +1,155 @@
+package com.linkedin.voyager.growth.launchpad.dash.impl.services;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Ticker;
+import java.util.function.Supplier;
+import javax.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+
+/**
+ * Circuit breaker around a blocking Chameleon call.
+ * The circuit opens once the share of failed or slow calls among the most recent ones crosses the threshold. While it
+ * is open, calls fail fast with {@link ChameleonCircuitOpenException} instead of piling up on the upstream. After the
+ * open duration a few trial calls are let through, and the circuit closes again once all of them succeed.
+ */
+final class ChameleonCircuitBreaker {
+  private static final Logger LOG = LoggerFactory.getLogger(ChameleonCircuitBreaker.class);
+
+  enum State {
+    CLOSED,
+    OPEN,
+    HALF_OPEN
+  }
+
+  private final String name;
+  private final ChameleonCircuitBreakerConfig config;
+  private final long slowCallThresholdNanos;
+  private final long openDurationNanos;
+  private final Ticker ticker;
+  // Outcomes of the most recent calls, true for a failed or slow call
+  private final boolean[] window;
+
+  private State state = State.CLOSED;
+  private int windowIndex;
+  private int windowCount;
+  private int windowFailures;
+  private long openedAtNanos;
+  private int halfOpenInFlight;
+  private int halfOpenSuccesses;
+
+  ChameleonCircuitBreaker(String name, ChameleonCircuitBreakerConfig config) {
+    this(name, config, Ticker.systemTicker());
+  }
+
+  @VisibleForTesting
+  ChameleonCircuitBreaker(String name, ChameleonCircuitBreakerConfig config, Ticker ticker) {
+    this.name = name;
+    this.config = config;
+    this.slowCallThresholdNanos = config.getSlowCallThreshold().toNanos();
+    this.openDurationNanos = config.getOpenDuration().toNanos();
+    this.ticker = ticker;
+    this.window = new boolean[Math.max(1, config.getWindowSize())];
+  }
+
+  /**
+   * Run the call through the breaker
+   * @throws ChameleonCircuitOpenException if the circuit does not let the call through
+   */
+  <T> T call(Supplier<T> call) {
+    if (!config.isEnabled()) {
+      return call.get();
+    }
+    State permit = acquire();
+    if (permit == null) {
+      throw new ChameleonCircuitOpenException("Chameleon " + name + " circuit is open");
+    }
+    long startNanos = ticker.read();
+    // Anything thrown counts as a failure, so a trial call always gives its permit back
+    boolean failed = true;
+    try {
+      T result = call.get();
+      failed = ticker.read() - startNanos > slowCallThresholdNanos;
+      return result;
+    } finally {
+      onResult(permit, failed);
+    }
+  }
+
+  String getName() {
+    return name;
+  }
+
+  synchronized State getState() {
+    return state;
+  }
+
+  /**
+   * @return the state the call was let through in, or null if it is rejected
+   */
+  @Nullable
+  private synchronized State acquire() {
+    if (state == State.OPEN) {
+      if (ticker.read() - openedAtNanos < openDurationNanos) {
+        return null;
+      }
+      LOG.info("Chameleon {} circuit is half-open, letting trial calls through", name);
+      state = State.HALF_OPEN;
+      halfOpenInFlight = 0;
+      halfOpenSuccesses = 0;
+    }
+    if (state == State.HALF_OPEN) {
+      if (halfOpenInFlight >= config.getHalfOpenPermits()) {
+        return null;
+      }
+      halfOpenInFlight++;
+    }
+    return state;
+  }
+
+  private synchronized void onResult(State permit, boolean failed) {
+    if (permit == State.HALF_OPEN) {
+      if (state != State.HALF_OPEN) {
+        // Another trial call already decided
+        return;
+      }
+      halfOpenInFlight--;
+      if (failed) {
+        open();
+      } else if (++halfOpenSuccesses >= config.getHalfOpenPermits()) {
+        close();
+      }
+      return;
+    }
+    if (state != State.CLOSED) {
+      // Late result of a call started before the circuit opened
+      return;
+    }
+    if (windowCount == window.length) {
+      windowFailures -= window[windowIndex] ? 1 : 0;
+    } else {
+      windowCount++;
+    }
+    window[windowIndex] = failed;
+    windowFailures += failed ? 1 : 0;
+    windowIndex = (windowIndex + 1) % window.length;
+    if (windowCount >= config.getMinimumCalls() && windowFailures >= config.getFailureRateThreshold() * windowCount) {
+      open();
+    }
+  }
+
+  private void open() {
+    LOG.warn("Chameleon {} circuit opened, failing calls fast for {}", name, config.getOpenDuration());
+    state = State.OPEN;
+    openedAtNanos = ticker.read();
+  }
+
+  private void close() {
+    LOG.info("Chameleon {} circuit closed", name);
+    state = State.CLOSED;
+    windowIndex = 0;
+    windowCount = 0;
+    windowFailures = 0;
+  }
+}
@@ -0,0 +1,54 @@
+package com.linkedin.voyager.growth.launchpad.dash.impl.services;
+
+import java.time.Duration;
+import lombok.Builder;
+import lombok.Value;
+
+
+/**
+ * Tuning knobs for the circuit breakers around the Chameleon calls
+ */
+@Value
+@Builder
+public class ChameleonCircuitBreakerConfig {
+  public static final ChameleonCircuitBreakerConfig DISABLED = ChameleonCircuitBreakerConfig.builder().enabled(false).build();
+
+  @Builder.Default
+  boolean enabled = true;
+
+  /**
+   * Number of most recent calls the failure rate is computed over
+   */
+  @Builder.Default
+  int windowSize = 50;
+
+  /**
+   * The circuit never opens before this many calls were recorded
+   */
+  @Builder.Default
+  int minimumCalls = 20;
+
+  /**
+   * Share of failed or slow calls in the window that opens the circuit
+   */
+  @Builder.Default
+  double failureRateThreshold = 0.5;
+
+  /**
+   * Calls slower than this count as failed
+   */
+  @Builder.Default
+  Duration slowCallThreshold = Duration.ofSeconds(1);
+
+  /**
+   * How long an open circuit rejects every call before letting trial calls through
+   */
+  @Builder.Default
+  Duration openDuration = Duration.ofSeconds(10);
+
+  /**
+   * Number of trial calls of a half-open circuit. All of them have to succeed to close it again.
+   */
+  @Builder.Default
+  int halfOpenPermits = 3;
+}
@@ -0,0 +1,141 @@
+package com.linkedin.voyager.growth.launchpad.dash.impl.services;
+
+import com.google.common.base.Ticker;
+import com.linkedin.voyager.common.test.helpers.test.VoyagerAsyncTaskUnitTest;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.testng.annotations.Test;
+
+
+/**
+ * Unit test for {@link ChameleonCircuitBreaker}.
+ * */
+public class ChameleonCircuitBreakerTest extends VoyagerAsyncTaskUnitTest {
+  private static final ChameleonCircuitBreakerConfig CONFIG = ChameleonCircuitBreakerConfig.builder()
+      .windowSize(4)
+      .minimumCalls(4)
+      .failureRateThreshold(0.5)
+      .slowCallThreshold(Duration.ofSeconds(1))
+      .openDuration(Duration.ofSeconds(10))
+      .halfOpenPermits(1)
+      .build();
+
+  @Test(description = "Test the circuit opens once the failure rate crosses the threshold and then fails fast")
+  public void testOpensOnFailureRate() {
+    ChameleonCircuitBreaker circuitBreaker = new ChameleonCircuitBreaker("config", CONFIG, new FakeTicker());
+    AtomicInteger calls = new AtomicInteger();
+
+    succeed(circuitBreaker);
+    succeed(circuitBreaker);
+    fail(circuitBreaker);
+    fail(circuitBreaker);
+
+    assertThat(circuitBreaker.getState()).isEqualTo(ChameleonCircuitBreaker.State.OPEN);
+    assertThatThrownBy(() -> circuitBreaker.call(calls::incrementAndGet))
+        .isInstanceOf(ChameleonCircuitOpenException.class);
+    assertThat(calls.get()).isEqualTo(0);
+  }
+
+  @Test(description = "Test slow calls count as failures")
+  public void testSlowCallsCountAsFailures() {
+    FakeTicker ticker = new FakeTicker();
+    ChameleonCircuitBreaker circuitBreaker = new ChameleonCircuitBreaker("config", CONFIG, ticker);
+
+    for (int i = 0; i < 4; i++) {
+      circuitBreaker.call(() -> {
+        ticker.advance(2, TimeUnit.SECONDS);
+        return "slow";
+      });
+    }
+
+    assertThat(circuitBreaker.getState()).isEqualTo(ChameleonCircuitBreaker.State.OPEN);
+  }
+
+  @Test(description = "Test a successful trial call closes the circuit after the open duration")
+  public void testHalfOpenTrialCloses() {
+    FakeTicker ticker = new FakeTicker();
+    ChameleonCircuitBreaker circuitBreaker = openCircuitBreaker(ticker);
+
+    ticker.advance(11, TimeUnit.SECONDS);
+    succeed(circuitBreaker);
+
+    assertThat(circuitBreaker.getState()).isEqualTo(ChameleonCircuitBreaker.State.CLOSED);
+  }
+
+  @Test(description = "Test a failed trial call opens the circuit again")
+  public void testHalfOpenTrialReopens() {
+    FakeTicker ticker = new FakeTicker();
+    ChameleonCircuitBreaker circuitBreaker = openCircuitBreaker(ticker);
+
+    ticker.advance(11, TimeUnit.SECONDS);
+    fail(circuitBreaker);
+
+    assertThat(circuitBreaker.getState()).isEqualTo(ChameleonCircuitBreaker.State.OPEN);
+  }
+
+  @Test(description = "Test a trial call throwing an error opens the circuit again and gives its permit back")
+  public void testHalfOpenTrialErrorReleasesPermit() {
+    FakeTicker ticker = new FakeTicker();
+    ChameleonCircuitBreaker circuitBreaker = openCircuitBreaker(ticker);
+
+    ticker.advance(11, TimeUnit.SECONDS);
+    assertThatThrownBy(() -> circuitBreaker.call(() -> {
+      throw new StackOverflowError();
+    })).isInstanceOf(StackOverflowError.class);
+    ChameleonCircuitBreaker.State afterError = circuitBreaker.getState();
+    ticker.advance(11, TimeUnit.SECONDS);
+    succeed(circuitBreaker);
+
+    assertThat(afterError).isEqualTo(ChameleonCircuitBreaker.State.OPEN);
+    assertThat(circuitBreaker.getState()).isEqualTo(ChameleonCircuitBreaker.State.CLOSED);
+  }
+
+  @Test(description = "Test a disabled circuit breaker never opens")
+  public void testDisabled() {
+    ChameleonCircuitBreaker circuitBreaker =
+        new ChameleonCircuitBreaker("config", ChameleonCircuitBreakerConfig.DISABLED, new FakeTicker());
+
+    for (int i = 0; i < 100; i++) {
+      fail(circuitBreaker);
+    }
+
+    assertThat(circuitBreaker.call(() -> "value")).isEqualTo("value");
+  }
+
+  private static ChameleonCircuitBreaker openCircuitBreaker(FakeTicker ticker) {
+    ChameleonCircuitBreaker circuitBreaker = new ChameleonCircuitBreaker("config", CONFIG, ticker);
+    for (int i = 0; i < 4; i++) {
+      fail(circuitBreaker);
+    }
+    return circuitBreaker;
+  }
+
+  private static void succeed(ChameleonCircuitBreaker circuitBreaker) {
+    circuitBreaker.call(() -> "value");
+  }
+
+  private static void fail(ChameleonCircuitBreaker circuitBreaker) {
+    try {
+      circuitBreaker.call(() -> {
+        throw new IllegalStateException("upstream failure");
+      });
+    } catch (RuntimeException e) {
+      // expected
+    }
+  }
+
+  private static final class FakeTicker extends Ticker {
+    private final AtomicLong nanos = new AtomicLong();
+
+    @Override
+    public long read() {
+      return nanos.get();
+    }
+
+    private void advance(long duration, TimeUnit unit) {
+      nanos.addAndGet(unit.toNanos(duration));
+    }
+  }
+}
@@ -0,0 +1,11 @@
+package com.linkedin.voyager.growth.launchpad.dash.impl.services;
+
+/**
+ * Thrown instead of calling Chameleon while the circuit breaker around the call is open
+ */
+class ChameleonCircuitOpenException extends ChameleonFetchException {
+
+  ChameleonCircuitOpenException(String message) {
+    super(message);
+  }
+}
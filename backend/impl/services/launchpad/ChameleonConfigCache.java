@@ -0,0 +1,284 @@
+package com.linkedin.voyager.growth.launchpad.dash.impl.services;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import javax.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+
+/**
+ * Process-wide, size and TTL bounded cache for values built from Chameleon configs.
+ * Concurrent misses for the same key collapse into a single load. Once an entry is older than
+ * {@link ChameleonCacheConfig#getRefreshAfter()}, the stale value keeps being served while one
+ * background reload replaces it, so hot keys never see a blocking miss. Background reloads go through the refresher
+ * of the cache, never through the loader of the request that loaded the entry, so they carry no request state.
+ * Negative results (e.g. no config for a key) are kept for {@link ChameleonCacheConfig#getNegativeTtl()}
+ * and are never refreshed, they simply expire.
+ * Expired entries are kept for {@link ChameleonCacheConfig#getLastKnownGoodRetention()} and served as the last known
+ * good value when reloading them fails, e.g. while Chameleon is down.
+ * Entries read at least {@link ChameleonCacheConfig#getHotKeyMinHits()} times between two calls of
+ * {@link #refreshHotEntries()} are reloaded proactively, so edits to hot configs propagate within the sweep interval.
+ */
+final class ChameleonConfigCache<K, V> {
+  private static final Logger LOG = LoggerFactory.getLogger(ChameleonConfigCache.class);
+
+  private final boolean enabled;
+  private final long ttlNanos;
+  private final long negativeTtlNanos;
+  private final long refreshAfterNanos;
+  private final long lastKnownGoodRetentionNanos;
+  private final long hotKeyMinHits;
+  private final Predicate<V> isNegative;
+  @Nullable
+  private final Function<K, V> refresher;
+  private final Executor refreshExecutor;
+  private final Ticker ticker;
+  private final Cache<K, Entry<V>> cache;
+
+  /**
+   * @param isNegative tells whether a loaded value is a negative result
+   * @param refresher reloads the value of a key on the refresh executor, outside of any request. It may return null
+   * to leave the entry to expire instead, e.g. for the entries of a single member. Null disables background reloads.
+   */
+  ChameleonConfigCache(ChameleonCacheConfig config, Predicate<V> isNegative, @Nullable Function<K, V> refresher,
+      Executor refreshExecutor) {
+    this(config, isNegative, refresher, refreshExecutor, Ticker.systemTicker());
+  }
+
+  @VisibleForTesting
+  ChameleonConfigCache(ChameleonCacheConfig config, Predicate<V> isNegative, @Nullable Function<K, V> refresher,
+      Executor refreshExecutor, Ticker ticker) {
+    this.enabled = config.isEnabled();
+    this.ttlNanos = config.getTtl().toNanos();
+    this.negativeTtlNanos = config.getNegativeTtl().toNanos();
+    this.refreshAfterNanos = config.getRefreshAfter().toNanos();
+    this.lastKnownGoodRetentionNanos = config.getLastKnownGoodRetention().toNanos();
+    this.hotKeyMinHits = config.getHotKeyMinHits();
+    this.isNegative = isNegative;
+    this.refresher = refresher;
+    this.refreshExecutor = refreshExecutor;
+    this.ticker = ticker;
+    this.cache = CacheBuilder.newBuilder()
+        .maximumSize(config.getMaxSize())
+        // Entries carry their own expiry, this only makes sure they are eventually dropped
+        .expireAfterWrite(Math.max(ttlNanos, negativeTtlNanos) + lastKnownGoodRetentionNanos, TimeUnit.NANOSECONDS)
+        .ticker(ticker)
+        .build();
+  }
+
+  /**
+   * Return the cached value for the key, loading it on a miss.
+   * The loader only runs for this miss, the entry is refreshed with the refresher of the cache.
+   * A loader that throws is not cached. The last known good value is served instead if there is one that is still
+   * retained, otherwise the exception is rethrown unchecked.
+   */
+  V get(K key, Supplier<V> loader) {
+    if (!enabled) {
+      return loader.get();
+    }
+    Entry<V> entry = getOrLoad(key, loader);
+    if (entry.isExpired(ticker.read())) {
+      // Drop the expired entry unless it was already replaced, then load again through the single-flight path
+      cache.asMap().remove(key, entry);
+      try {
+        entry = getOrLoad(key, loader);
+      } catch (RuntimeException e) {
+        if (!entry.isRetained(ticker.read())) {
+          throw e;
+        }
+        // Keep the expired entry as the last known good value, the next read tries to reload it again. Putting it
+        // back resets the write time of the cache, so the retention is tracked by the entry itself.
+        LOG.debug("Serving the last known good Chameleon config cache entry for key {}", key, e);
+        cache.asMap().putIfAbsent(key, entry);
+        return entry.value;
+      }
+    }
+    entry.hits.increment();
+    refreshIfStale(key, entry);
+    return entry.value;
+  }
+
+  /**
+   * Return the cached value for the key without loading it on a miss.
+   * A stale entry is still served and refreshed in the background.
+   */
+  Optional<V> getIfPresent(K key) {
+    if (!enabled) {
+      return Optional.empty();
+    }
+    Entry<V> entry = cache.getIfPresent(key);
+    if (entry == null || entry.isExpired(ticker.read())) {
+      return Optional.empty();
+    }
+    entry.hits.increment();
+    refreshIfStale(key, entry);
+    return Optional.of(entry.value);
+  }
+
+  /**
+   * Return the cached value for the key even if it expired, without loading, refreshing or counting a read
+   */
+  Optional<V> getLastKnownGood(K key) {
+    if (!enabled) {
+      return Optional.empty();
+    }
+    return Optional.ofNullable(cache.getIfPresent(key))
+        .filter(entry -> entry.isRetained(ticker.read()))
+        .map(entry -> entry.value);
+  }
+
+  /**
+   * @return the keys of the positive entries that did not expire yet, in no particular order
+   */
+  List<K> getPositiveKeys() {
+    if (!enabled) {
+      return Collections.emptyList();
+    }
+    long now = ticker.read();
+    List<K> keys = new ArrayList<>();
+    cache.asMap().forEach((key, entry) -> {
+      if (!entry.isNegative && !entry.isExpired(now)) {
+        keys.add(key);
+      }
+    });
+    return keys;
+  }
+
+  boolean isEnabled() {
+    return enabled;
+  }
+
+  void invalidate(K key) {
+    cache.invalidate(key);
+  }
+
+  void invalidateAll() {
+    cache.invalidateAll();
+  }
+
+  /**
+   * Drop the entries of every key matching the predicate
+   */
+  void invalidateIf(Predicate<K> predicate) {
+    cache.asMap().keySet().removeIf(predicate);
+  }
+
+  /**
+   * Reload, in the background, every positive entry that was read at least hotKeyMinHits times since the previous
+   * call, then reset the read counts. Cold entries are left to the regular refreshAfter and ttl handling.
+   * Meant to be called periodically, off the request path.
+   * @return the number of entries a reload was scheduled for
+   */
+  int refreshHotEntries() {
+    if (!enabled) {
+      return 0;
+    }
+    long now = ticker.read();
+    int scheduled = 0;
+    for (Map.Entry<K, Entry<V>> cached : cache.asMap().entrySet()) {
+      Entry<V> entry = cached.getValue();
+      long hits = entry.hits.sumThenReset();
+      if (hits >= hotKeyMinHits && !entry.isNegative && !entry.isExpired(now) && refresh(cached.getKey(), entry)) {
+        scheduled++;
+      }
+    }
+    return scheduled;
+  }
+
+  private Entry<V> getOrLoad(K key, Supplier<V> loader) {
+    try {
+      return cache.get(key, () -> newEntry(loader.get()));
+    } catch (ExecutionException e) {
+      throw new UncheckedExecutionException(e.getCause());
+    }
+  }
+
+  private Entry<V> newEntry(V value) {
+    long now = ticker.read();
+    if (isNegative.test(value)) {
+      return new Entry<>(value, true, Long.MAX_VALUE, now + negativeTtlNanos, lastKnownGoodRetentionNanos);
+    }
+    return new Entry<>(value, false, now + refreshAfterNanos, now + ttlNanos, lastKnownGoodRetentionNanos);
+  }
+
+  private void refreshIfStale(K key, Entry<V> entry) {
+    if (ticker.read() >= entry.refreshAtNanos) {
+      refresh(key, entry);
+    }
+  }
+
+  /**
+   * @return false if there is no refresher, the entry is already being refreshed or the refresh got rejected
+   */
+  private boolean refresh(K key, Entry<V> staleEntry) {
+    if (refresher == null || !staleEntry.refreshing.compareAndSet(false, true)) {
+      // Another request is already refreshing this entry
+      return false;
+    }
+    try {
+      refreshExecutor.execute(() -> {
+        try {
+          V value = refresher.apply(key);
+          if (value != null) {
+            // Only swap if the entry was not invalidated or replaced in the meantime
+            cache.asMap().replace(key, staleEntry, newEntry(value));
+          }
+        } catch (RuntimeException e) {
+          LOG.warn("Not able to refresh Chameleon config cache entry for key {}", key, e);
+        } finally {
+          staleEntry.refreshing.set(false);
+        }
+      });
+      return true;
+    } catch (RejectedExecutionException e) {
+      LOG.warn("Chameleon config cache refresh rejected for key {}", key);
+      staleEntry.refreshing.set(false);
+      return false;
+    }
+  }
+
+  private static final class Entry<V> {
+    private final V value;
+    private final boolean isNegative;
+    private final long refreshAtNanos;
+    private final long expiresAtNanos;
+    // Counted from the load of the value, however often the entry is put back as the last known good value
+    private final long retainedUntilNanos;
+    private final AtomicBoolean refreshing = new AtomicBoolean(false);
+    private final LongAdder hits = new LongAdder();
+
+    private Entry(V value, boolean isNegative, long refreshAtNanos, long expiresAtNanos, long retentionNanos) {
+      this.value = value;
+      this.isNegative = isNegative;
+      this.refreshAtNanos = refreshAtNanos;
+      this.expiresAtNanos = expiresAtNanos;
+      this.retainedUntilNanos = expiresAtNanos + retentionNanos;
+    }
+
+    private boolean isExpired(long nowNanos) {
+      return nowNanos >= expiresAtNanos;
+    }
+
+    private boolean isRetained(long nowNanos) {
+      return nowNanos < retainedUntilNanos;
+    }
+  }
+}
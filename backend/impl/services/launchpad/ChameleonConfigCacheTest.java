@@ -0,0 +1,236 @@
+package com.linkedin.voyager.growth.launchpad.dash.impl.services;
+
+import com.google.common.base.Ticker;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.linkedin.voyager.common.test.helpers.test.VoyagerAsyncTaskUnitTest;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.testng.annotations.Test;
+
+
+/**
+ * Unit test for {@link ChameleonConfigCache}.
+ * */
+public class ChameleonConfigCacheTest extends VoyagerAsyncTaskUnitTest {
+  private static final ChameleonCacheConfig CACHE_CONFIG = ChameleonCacheConfig.builder()
+      .ttl(Duration.ofMinutes(30))
+      .refreshAfter(Duration.ofMinutes(5))
+      .negativeTtl(Duration.ofMinutes(1))
+      .build();
+  private static final Function<String, String> NO_REFRESH = key -> null;
+
+  @Test(description = "Test repeated reads of a fresh entry load it once")
+  public void testGetLoadsOnce() {
+    FakeTicker ticker = new FakeTicker();
+    ChameleonConfigCache<String, String> cache = new ChameleonConfigCache<>(CACHE_CONFIG, String::isEmpty, NO_REFRESH,
+        MoreExecutors.directExecutor(), ticker);
+    AtomicInteger loads = new AtomicInteger();
+
+    cache.get("key", () -> "value" + loads.incrementAndGet());
+    String actual = cache.get("key", () -> "value" + loads.incrementAndGet());
+
+    assertThat(actual).isEqualTo("value1");
+    assertThat(loads.get()).isEqualTo(1);
+  }
+
+  @Test(description = "Test a stale entry is served while the refresher replaces it, not the loader of the request")
+  public void testGetServesStaleWhileRefreshing() {
+    FakeTicker ticker = new FakeTicker();
+    ChameleonConfigCache<String, String> cache = new ChameleonConfigCache<>(CACHE_CONFIG, String::isEmpty,
+        key -> "refreshed", MoreExecutors.directExecutor(), ticker);
+    AtomicInteger loads = new AtomicInteger();
+
+    cache.get("key", () -> "value" + loads.incrementAndGet());
+    ticker.advance(6, TimeUnit.MINUTES);
+    String stale = cache.get("key", () -> "value" + loads.incrementAndGet());
+    String refreshed = cache.get("key", () -> "value" + loads.incrementAndGet());
+
+    assertThat(stale).isEqualTo("value1");
+    assertThat(refreshed).isEqualTo("refreshed");
+    assertThat(loads.get()).isEqualTo(1);
+  }
+
+  @Test(description = "Test an entry the refresher leaves is served until it expires")
+  public void testGetServesUnrefreshedEntryUntilExpiry() {
+    FakeTicker ticker = new FakeTicker();
+    ChameleonConfigCache<String, String> cache = new ChameleonConfigCache<>(CACHE_CONFIG, String::isEmpty, NO_REFRESH,
+        MoreExecutors.directExecutor(), ticker);
+
+    cache.get("key", () -> "value");
+    ticker.advance(6, TimeUnit.MINUTES);
+    cache.get("key", () -> "newValue");
+    String stale = cache.get("key", () -> "newValue");
+    ticker.advance(25, TimeUnit.MINUTES);
+    String reloaded = cache.get("key", () -> "newValue");
+
+    assertThat(stale).isEqualTo("value");
+    assertThat(reloaded).isEqualTo("newValue");
+  }
+
+  @Test(description = "Test an expired entry is loaded again")
+  public void testGetReloadsExpiredEntry() {
+    FakeTicker ticker = new FakeTicker();
+    ChameleonConfigCache<String, String> cache =
+        new ChameleonConfigCache<>(CACHE_CONFIG, String::isEmpty, NO_REFRESH, runnable -> { }, ticker);
+    AtomicInteger loads = new AtomicInteger();
+
+    cache.get("key", () -> "value" + loads.incrementAndGet());
+    ticker.advance(31, TimeUnit.MINUTES);
+    String actual = cache.get("key", () -> "value" + loads.incrementAndGet());
+
+    assertThat(actual).isEqualTo("value2");
+  }
+
+  @Test(description = "Test a negative result expires after the negative TTL")
+  public void testNegativeResultExpiresEarly() {
+    FakeTicker ticker = new FakeTicker();
+    ChameleonConfigCache<String, String> cache = new ChameleonConfigCache<>(CACHE_CONFIG, String::isEmpty, NO_REFRESH,
+        MoreExecutors.directExecutor(), ticker);
+    AtomicInteger loads = new AtomicInteger();
+
+    cache.get("key", () -> loads.incrementAndGet() == 1 ? "" : "value");
+    String cachedMiss = cache.get("key", () -> loads.incrementAndGet() == 1 ? "" : "value");
+    ticker.advance(2, TimeUnit.MINUTES);
+    String actual = cache.get("key", () -> loads.incrementAndGet() == 1 ? "" : "value");
+
+    assertThat(cachedMiss).isEmpty();
+    assertThat(actual).isEqualTo("value");
+    assertThat(loads.get()).isEqualTo(2);
+  }
+
+  @Test(description = "Test a failed load is not cached")
+  public void testFailedLoadIsNotCached() {
+    ChameleonConfigCache<String, String> cache =
+        new ChameleonConfigCache<>(CACHE_CONFIG, String::isEmpty, NO_REFRESH, MoreExecutors.directExecutor(),
+            new FakeTicker());
+
+    try {
+      cache.get("key", () -> {
+        throw new ChameleonFetchException("upstream failure");
+      });
+    } catch (RuntimeException e) {
+      // expected
+    }
+    String actual = cache.get("key", () -> "value");
+
+    assertThat(actual).isEqualTo("value");
+  }
+
+  @Test(description = "Test the expired value is served while reloading it fails")
+  public void testServesLastKnownGoodOnFailure() {
+    FakeTicker ticker = new FakeTicker();
+    ChameleonConfigCache<String, String> cache =
+        new ChameleonConfigCache<>(CACHE_CONFIG, String::isEmpty, NO_REFRESH, runnable -> { }, ticker);
+
+    cache.get("key", () -> "value");
+    ticker.advance(31, TimeUnit.MINUTES);
+    String actual = cache.get("key", () -> {
+      throw new ChameleonFetchException("upstream failure");
+    });
+    String recovered = cache.get("key", () -> "newValue");
+
+    assertThat(actual).isEqualTo("value");
+    assertThat(cache.getLastKnownGood("key")).hasValue("newValue");
+    assertThat(recovered).isEqualTo("newValue");
+  }
+
+  @Test(description = "Test the last known good value is only retained for the retention after it expired")
+  public void testLastKnownGoodRetentionCountsFromLoad() {
+    FakeTicker ticker = new FakeTicker();
+    ChameleonConfigCache<String, String> cache =
+        new ChameleonConfigCache<>(CACHE_CONFIG, String::isEmpty, NO_REFRESH, runnable -> { }, ticker);
+    Supplier<String> failingLoader = () -> {
+      throw new ChameleonFetchException("upstream failure");
+    };
+
+    cache.get("key", () -> "value");
+    ticker.advance(31, TimeUnit.MINUTES);
+    String lastKnownGood = cache.get("key", failingLoader);
+    ticker.advance(59, TimeUnit.MINUTES);
+    String retained = cache.get("key", failingLoader);
+    ticker.advance(1, TimeUnit.MINUTES);
+
+    assertThat(lastKnownGood).isEqualTo("value");
+    assertThat(retained).isEqualTo("value");
+    assertThat(cache.getLastKnownGood("key")).isEmpty();
+    assertThatThrownBy(() -> cache.get("key", failingLoader)).isInstanceOf(RuntimeException.class);
+  }
+
+  @Test(description = "Test a disabled cache always loads")
+  public void testDisabledCacheAlwaysLoads() {
+    ChameleonConfigCache<String, String> cache =
+        new ChameleonConfigCache<>(ChameleonCacheConfig.DISABLED, String::isEmpty, NO_REFRESH,
+            MoreExecutors.directExecutor());
+    AtomicInteger loads = new AtomicInteger();
+
+    cache.get("key", () -> "value" + loads.incrementAndGet());
+    cache.get("key", () -> "value" + loads.incrementAndGet());
+
+    assertThat(loads.get()).isEqualTo(2);
+  }
+
+  @Test(description = "Test only hot entries are reloaded by the sweep")
+  public void testRefreshHotEntries() {
+    AtomicInteger hotLoads = new AtomicInteger();
+    AtomicInteger coldLoads = new AtomicInteger();
+    ChameleonConfigCache<String, String> cache = new ChameleonConfigCache<>(CACHE_CONFIG, String::isEmpty,
+        key -> key.equals("hot") ? "hot" + hotLoads.incrementAndGet() : "cold" + coldLoads.incrementAndGet(),
+        MoreExecutors.directExecutor(), new FakeTicker());
+
+    cache.get("hot", () -> "hot" + hotLoads.incrementAndGet());
+    cache.get("hot", () -> "hot" + hotLoads.incrementAndGet());
+    cache.get("cold", () -> "cold" + coldLoads.incrementAndGet());
+    int scheduled = cache.refreshHotEntries();
+
+    assertThat(scheduled).isEqualTo(1);
+    assertThat(cache.getIfPresent("hot")).hasValue("hot2");
+    assertThat(cache.getIfPresent("cold")).hasValue("cold1");
+    // Read counts are reset by every sweep
+    assertThat(cache.refreshHotEntries()).isEqualTo(0);
+  }
+
+  @Test(description = "Test invalidateAll drops every entry")
+  public void testInvalidateAll() {
+    ChameleonConfigCache<String, String> cache =
+        new ChameleonConfigCache<>(CACHE_CONFIG, String::isEmpty, NO_REFRESH, MoreExecutors.directExecutor(),
+            new FakeTicker());
+
+    cache.get("key1", () -> "value1");
+    cache.get("key2", () -> "value2");
+    cache.invalidateAll();
+
+    assertThat(cache.getIfPresent("key1")).isEmpty();
+    assertThat(cache.getIfPresent("key2")).isEmpty();
+  }
+
+  @Test(description = "Test only the positive entries that did not expire are listed")
+  public void testGetPositiveKeys() {
+    FakeTicker ticker = new FakeTicker();
+    ChameleonConfigCache<String, String> cache =
+        new ChameleonConfigCache<>(CACHE_CONFIG, String::isEmpty, NO_REFRESH, runnable -> { }, ticker);
+
+    cache.get("expired", () -> "value");
+    ticker.advance(31, TimeUnit.MINUTES);
+    cache.get("positive", () -> "value");
+    cache.get("negative", () -> "");
+
+    assertThat(cache.getPositiveKeys()).containsExactly("positive");
+  }
+
+  private static final class FakeTicker extends Ticker {
+    private final AtomicLong nanos = new AtomicLong();
+
+    @Override
+    public long read() {
+      return nanos.get();
+    }
+
+    private void advance(long duration, TimeUnit unit) {
+      nanos.addAndGet(unit.toNanos(duration));
+    }
+  }
+}
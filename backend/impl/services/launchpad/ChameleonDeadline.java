@@ -0,0 +1,41 @@
+package com.linkedin.voyager.growth.launchpad.dash.impl.services;
+
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Point in time by which the Chameleon work of a request has to be done
+ */
+final class ChameleonDeadline {
+  static final ChameleonDeadline NONE = new ChameleonDeadline(0L, false);
+
+  private final long deadlineNanos;
+  private final boolean bounded;
+
+  private ChameleonDeadline(long deadlineNanos, boolean bounded) {
+    this.deadlineNanos = deadlineNanos;
+    this.bounded = bounded;
+  }
+
+  /**
+   * @param deadlineNanos deadline as a {@link System#nanoTime()} value
+   */
+  static ChameleonDeadline at(long deadlineNanos) {
+    return new ChameleonDeadline(deadlineNanos, true);
+  }
+
+  boolean isBounded() {
+    return bounded;
+  }
+
+  /**
+   * @return the time left until the deadline, never negative, or Long.MAX_VALUE if there is no deadline
+   */
+  long remainingNanos() {
+    return bounded ? Math.max(0L, deadlineNanos - System.nanoTime()) : Long.MAX_VALUE;
+  }
+
+  long remainingMillis() {
+    return bounded ? TimeUnit.NANOSECONDS.toMillis(remainingNanos()) : Long.MAX_VALUE;
+  }
+}
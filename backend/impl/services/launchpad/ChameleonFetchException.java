@@ -0,0 +1,16 @@
+package com.linkedin.voyager.growth.launchpad.dash.impl.services;
+
+/**
+ * Thrown when a Chameleon config could not be fetched, as opposed to Chameleon returning no config.
+ * Lets caches tell upstream failures, which must not be cached, apart from negative results.
+ */
+class ChameleonFetchException extends RuntimeException {
+
+  ChameleonFetchException(String message) {
+    super(message);
+  }
+
+  ChameleonFetchException(String message, Throwable cause) {
+    super(message, cause);
+  }
+}
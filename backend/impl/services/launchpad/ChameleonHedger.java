@@ -0,0 +1,273 @@
+package com.linkedin.voyager.growth.launchpad.dash.impl.services;
+
+import com.google.common.util.concurrent.MoreExecutors;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import javax.annotation.Nullable;
+
+
+/**
+ * Hedges a blocking Chameleon call: if it has not returned after the configured percentile of the recent call
+ * latencies, the same call is sent a second time and whichever succeeds first wins.
+ * At most {@link ChameleonHedgingConfig#getMaxHedgeRate()} of the calls of the last seconds are hedged, so a slow
+ * upstream never sees much more than its regular load. No call is hedged before enough latencies were seen to
+ * estimate the percentile.
+ * The first call runs on the thread that makes it, the timer only starts the second call on the hedging executor, so
+ * a call holds no other thread until it is hedged.
+ */
+final class ChameleonHedger {
+  private final ChameleonHedgingConfig config;
+  private final Executor executor;
+  @Nullable
+  private final ScheduledExecutorService timer;
+  private final Runnable onHedged;
+  private final Runnable onHedgeWon;
+  private final long minDelayNanos;
+  private final long[] recentLatencies;
+  private final int updateEvery;
+  private final HedgeRateWindow rateWindow = new HedgeRateWindow();
+
+  private int latencyIndex;
+  private int latencyCount;
+  private int recordsSinceUpdate;
+  private volatile long hedgeDelayNanos = Long.MAX_VALUE;
+
+  /**
+   * @param executor runs the second calls of hedged calls. Must not be an executor the calls themselves wait on.
+   * @param timer starts the second calls once the hedging delay passed, no call is hedged without it
+   * @param onHedged invoked for every hedged call
+   * @param onHedgeWon invoked when the second call returned first
+   */
+  ChameleonHedger(ChameleonHedgingConfig config, Executor executor, @Nullable ScheduledExecutorService timer,
+      Runnable onHedged, Runnable onHedgeWon) {
+    this.config = config;
+    this.executor = executor;
+    this.timer = timer;
+    this.onHedged = onHedged;
+    this.onHedgeWon = onHedgeWon;
+    this.minDelayNanos = config.getMinDelay().toNanos();
+    this.recentLatencies = new long[Math.max(4, config.getWindowSize())];
+    this.updateEvery = recentLatencies.length / 4;
+  }
+
+  /**
+   * Make the call on the calling thread. The calling thread cannot give up on its own call, so a second call only
+   * serves it if its own call failed.
+   */
+  <T> T call(Supplier<T> call) {
+    return join(supplyAsync(call, MoreExecutors.directExecutor()));
+  }
+
+  /**
+   * Make the call on the given executor, the returned future completes with whichever of the calls succeeds first.
+   * If the executor rejects the call, it runs on the calling thread instead.
+   */
+  <T> CompletableFuture<T> supplyAsync(Supplier<T> call, Executor callerExecutor) {
+    if (!config.isEnabled() || timer == null) {
+      return run(call, callerExecutor);
+    }
+    long delayNanos = hedgeDelayNanos;
+    if (delayNanos == Long.MAX_VALUE) {
+      // Not enough latencies seen yet to tell a slow call
+      return run(timed(call), callerExecutor);
+    }
+    rateWindow.recordCall(System.nanoTime());
+    HedgedCall<T> hedgedCall = new HedgedCall<>(timed(call));
+    try {
+      ScheduledFuture<?> hedgeTimer = timer.schedule(hedgedCall::hedge, delayNanos, TimeUnit.NANOSECONDS);
+      hedgedCall.result.whenComplete((value, e) -> hedgeTimer.cancel(false));
+    } catch (RejectedExecutionException e) {
+      // The timer is shut down, the call is simply not hedged
+    }
+    try {
+      callerExecutor.execute(hedgedCall::runPrimary);
+    } catch (RejectedExecutionException e) {
+      hedgedCall.runPrimary();
+    }
+    return hedgedCall.result;
+  }
+
+  /**
+   * @return the hedging delay in nanoseconds, Long.MAX_VALUE until enough latencies were seen
+   */
+  long getHedgeDelayNanos() {
+    return hedgeDelayNanos;
+  }
+
+  private <T> Supplier<T> timed(Supplier<T> call) {
+    return () -> {
+      long startNanos = System.nanoTime();
+      T result = call.get();
+      record(System.nanoTime() - startNanos);
+      return result;
+    };
+  }
+
+  private synchronized void record(long latencyNanos) {
+    recentLatencies[latencyIndex] = latencyNanos;
+    latencyIndex = (latencyIndex + 1) % recentLatencies.length;
+    latencyCount = Math.min(latencyCount + 1, recentLatencies.length);
+    if (++recordsSinceUpdate >= updateEvery && latencyCount >= updateEvery) {
+      recordsSinceUpdate = 0;
+      long[] sorted = Arrays.copyOf(recentLatencies, latencyCount);
+      Arrays.sort(sorted);
+      int index = (int) Math.min(sorted.length - 1, Math.ceil(config.getPercentile() / 100 * sorted.length) - 1);
+      hedgeDelayNanos = Math.max(minDelayNanos, sorted[Math.max(0, index)]);
+    }
+  }
+
+  private static <T> CompletableFuture<T> run(Supplier<T> call, Executor callerExecutor) {
+    CompletableFuture<T> result = new CompletableFuture<>();
+    Runnable task = () -> complete(result, call);
+    try {
+      callerExecutor.execute(task);
+    } catch (RejectedExecutionException e) {
+      task.run();
+    }
+    return result;
+  }
+
+  private static <T> boolean complete(CompletableFuture<T> result, Supplier<T> call) {
+    try {
+      return result.complete(call.get());
+    } catch (RuntimeException e) {
+      return result.completeExceptionally(e);
+    }
+  }
+
+  private static <T> T join(CompletableFuture<T> future) {
+    try {
+      return future.join();
+    } catch (CompletionException e) {
+      throw propagate(e.getCause());
+    }
+  }
+
+  private static RuntimeException propagate(Throwable cause) {
+    if (cause instanceof RuntimeException) {
+      return (RuntimeException) cause;
+    }
+    return new ChameleonFetchException("Chameleon call failed", cause);
+  }
+
+  /**
+   * A call and its second call, if the timer started one. The result is the first success, or the first failure once
+   * every call failed.
+   */
+  private final class HedgedCall<T> {
+    private final Supplier<T> call;
+    private final CompletableFuture<T> result = new CompletableFuture<>();
+    private final AtomicInteger pendingCalls = new AtomicInteger(1);
+    private final AtomicReference<RuntimeException> failure = new AtomicReference<>();
+
+    private HedgedCall(Supplier<T> call) {
+      this.call = call;
+    }
+
+    private void runPrimary() {
+      try {
+        onSuccess(call.get(), false);
+      } catch (RuntimeException e) {
+        onFailure(e);
+      }
+    }
+
+    private void hedge() {
+      if (result.isDone() || !rateWindow.tryHedge(System.nanoTime(), config.getMaxHedgeRate())) {
+        return;
+      }
+      pendingCalls.incrementAndGet();
+      try {
+        executor.execute(() -> {
+          try {
+            onSuccess(call.get(), true);
+          } catch (RuntimeException e) {
+            onFailure(e);
+          }
+        });
+      } catch (RejectedExecutionException e) {
+        // The hedging executor is saturated, the first call is left to complete on its own
+        if (pendingCalls.decrementAndGet() == 0) {
+          result.completeExceptionally(failure.get());
+        }
+        return;
+      }
+      onHedged.run();
+    }
+
+    private void onSuccess(T value, boolean hedge) {
+      if (result.complete(value) && hedge) {
+        onHedgeWon.run();
+      }
+    }
+
+    private void onFailure(RuntimeException e) {
+      failure.compareAndSet(null, e);
+      if (pendingCalls.decrementAndGet() == 0) {
+        result.completeExceptionally(failure.get());
+      }
+    }
+  }
+
+  /**
+   * Counts the calls and the hedges of the last {@link #BUCKETS} seconds, in one bucket per second, so the hedge rate
+   * is enforced over a sliding window instead of one that is reset under concurrent calls.
+   */
+  static final class HedgeRateWindow {
+    static final int BUCKETS = 10;
+    private static final long BUCKET_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final long[] bucketIndexes = new long[BUCKETS];
+    private final long[] calls = new long[BUCKETS];
+    private final long[] hedges = new long[BUCKETS];
+
+    HedgeRateWindow() {
+      Arrays.fill(bucketIndexes, Long.MIN_VALUE);
+    }
+
+    synchronized void recordCall(long nowNanos) {
+      calls[bucket(nowNanos)]++;
+    }
+
+    /**
+     * @return whether one more hedge keeps the hedges of the window within the rate, in which case it is counted
+     */
+    synchronized boolean tryHedge(long nowNanos, double maxHedgeRate) {
+      int bucket = bucket(nowNanos);
+      long bucketIndex = bucketIndexes[bucket];
+      long windowCalls = 0;
+      long windowHedges = 0;
+      for (int i = 0; i < BUCKETS; i++) {
+        if (bucketIndexes[i] > bucketIndex - BUCKETS) {
+          windowCalls += calls[i];
+          windowHedges += hedges[i];
+        }
+      }
+      if (windowHedges + 1 > maxHedgeRate * windowCalls) {
+        return false;
+      }
+      hedges[bucket]++;
+      return true;
+    }
+
+    private int bucket(long nowNanos) {
+      long bucketIndex = Math.floorDiv(nowNanos, BUCKET_NANOS);
+      int bucket = (int) Math.floorMod(bucketIndex, (long) BUCKETS);
+      if (bucketIndexes[bucket] != bucketIndex) {
+        bucketIndexes[bucket] = bucketIndex;
+        calls[bucket] = 0;
+        hedges[bucket] = 0;
+      }
+      return bucket;
+    }
+  }
+}
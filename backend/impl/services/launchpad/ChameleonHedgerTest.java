@@ -0,0 +1,218 @@
+package com.linkedin.voyager.growth.launchpad.dash.impl.services;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.linkedin.voyager.common.test.helpers.test.VoyagerAsyncTaskUnitTest;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+
+/**
+ * Unit test for {@link ChameleonHedger}.
+ * */
+public class ChameleonHedgerTest extends VoyagerAsyncTaskUnitTest {
+  private static final ChameleonHedgingConfig CONFIG = ChameleonHedgingConfig.builder()
+      .windowSize(4)
+      .minDelay(Duration.ofMillis(5))
+      .maxHedgeRate(1.0)
+      .build();
+
+  private static final String CALLER_THREAD_PREFIX = "hedger-test-caller-";
+
+  private ExecutorService executor;
+  private ExecutorService callerExecutor;
+  private ScheduledExecutorService timer;
+
+  @BeforeMethod
+  public void setUp() {
+    executor = Executors.newCachedThreadPool();
+    callerExecutor = Executors.newCachedThreadPool(
+        new ThreadFactoryBuilder().setNameFormat(CALLER_THREAD_PREFIX + "%d").build());
+    timer = Executors.newSingleThreadScheduledExecutor();
+  }
+
+  @AfterMethod
+  public void tearDown() {
+    executor.shutdownNow();
+    callerExecutor.shutdownNow();
+    timer.shutdownNow();
+  }
+
+  @Test(description = "Test a slow call is hedged and the faster second call wins")
+  public void testSlowCallIsHedged() {
+    AtomicInteger hedged = new AtomicInteger();
+    AtomicInteger hedgesWon = new AtomicInteger();
+    ChameleonHedger hedger = new ChameleonHedger(CONFIG, executor, timer, hedged::incrementAndGet,
+        hedgesWon::incrementAndGet);
+    warmUp(hedger);
+    CountDownLatch slowCallRelease = new CountDownLatch(1);
+    AtomicInteger attempts = new AtomicInteger();
+
+    String actual = hedger.supplyAsync(() -> {
+      if (attempts.incrementAndGet() == 1) {
+        awaitUninterruptibly(slowCallRelease);
+        return "primary";
+      }
+      return "hedge";
+    }, callerExecutor).join();
+    slowCallRelease.countDown();
+
+    assertThat(actual).isEqualTo("hedge");
+    assertThat(hedged.get()).isEqualTo(1);
+    assertThat(hedgesWon.get()).isEqualTo(1);
+  }
+
+  @Test(description = "Test no call is hedged beyond the hedge rate")
+  public void testHedgeRateCap() {
+    AtomicInteger hedged = new AtomicInteger();
+    ChameleonHedger hedger = new ChameleonHedger(ChameleonHedgingConfig.builder()
+        .windowSize(4)
+        .minDelay(Duration.ofMillis(5))
+        .maxHedgeRate(0)
+        .build(), executor, timer,
+        hedged::incrementAndGet, () -> { });
+    warmUp(hedger);
+
+    String actual = hedger.supplyAsync(() -> {
+      sleepUninterruptibly(50);
+      return "primary";
+    }, callerExecutor).join();
+
+    assertThat(actual).isEqualTo("primary");
+    assertThat(hedged.get()).isEqualTo(0);
+  }
+
+  @Test(description = "Test no call is hedged before enough latencies were seen")
+  public void testNoHedgeWithoutLatencies() {
+    ChameleonHedger hedger = new ChameleonHedger(CONFIG, executor, timer, () -> { }, () -> { });
+
+    assertThat(hedger.getHedgeDelayNanos()).isEqualTo(Long.MAX_VALUE);
+    assertThat(hedger.call(() -> "value")).isEqualTo("value");
+  }
+
+  @Test(description = "Test a synchronous call runs on the calling thread and holds no other thread")
+  public void testCallRunsOnCallingThread() {
+    AtomicInteger hedgingTasks = new AtomicInteger();
+    // Long enough for the first call to return before it could be hedged
+    ChameleonHedger hedger = new ChameleonHedger(CONFIG.toBuilder().minDelay(Duration.ofSeconds(5)).build(), task -> {
+      hedgingTasks.incrementAndGet();
+      executor.execute(task);
+    }, timer, () -> { }, () -> { });
+    for (int i = 0; i < 4; i++) {
+      hedger.call(() -> "fast");
+    }
+    AtomicReference<Thread> callThread = new AtomicReference<>();
+
+    String actual = hedger.call(() -> {
+      callThread.set(Thread.currentThread());
+      return "primary";
+    });
+
+    assertThat(actual).isEqualTo("primary");
+    assertThat(callThread.get()).isSameAs(Thread.currentThread());
+    assertThat(hedgingTasks.get()).isEqualTo(0);
+  }
+
+  @Test(description = "Test an async call runs on the executor of the caller, not on the hedging executor")
+  public void testPrimaryRunsOnCallerExecutor() {
+    AtomicInteger hedgingTasks = new AtomicInteger();
+    ChameleonHedger hedger = new ChameleonHedger(CONFIG.toBuilder().minDelay(Duration.ofSeconds(5)).build(), task -> {
+      hedgingTasks.incrementAndGet();
+      executor.execute(task);
+    }, timer, () -> { }, () -> { });
+    for (int i = 0; i < 4; i++) {
+      hedger.call(() -> "fast");
+    }
+    AtomicReference<Thread> callThread = new AtomicReference<>();
+
+    String actual = hedger.supplyAsync(() -> {
+      callThread.set(Thread.currentThread());
+      return "primary";
+    }, callerExecutor).join();
+
+    assertThat(actual).isEqualTo("primary");
+    assertThat(callThread.get().getName()).startsWith(CALLER_THREAD_PREFIX);
+    assertThat(hedgingTasks.get()).isEqualTo(0);
+  }
+
+  @Test(description = "Test a failed synchronous call is served the result of its second call")
+  public void testFailedCallServedByHedge() {
+    AtomicInteger hedgesWon = new AtomicInteger();
+    ChameleonHedger hedger = new ChameleonHedger(CONFIG, executor, timer, () -> { }, hedgesWon::incrementAndGet);
+    warmUp(hedger);
+    CountDownLatch hedgeStarted = new CountDownLatch(1);
+    AtomicInteger attempts = new AtomicInteger();
+
+    String actual = hedger.call(() -> {
+      if (attempts.incrementAndGet() == 1) {
+        awaitUninterruptibly(hedgeStarted);
+        throw new IllegalStateException("primary failed");
+      }
+      hedgeStarted.countDown();
+      return "hedge";
+    });
+
+    assertThat(actual).isEqualTo("hedge");
+    assertThat(hedgesWon.get()).isEqualTo(1);
+  }
+
+  @Test(description = "Test a call fails once all of its calls failed")
+  public void testAllCallsFailed() {
+    ChameleonHedger hedger = new ChameleonHedger(CONFIG, executor, timer, () -> { }, () -> { });
+    warmUp(hedger);
+
+    assertThatThrownBy(() -> hedger.call(() -> {
+      sleepUninterruptibly(50);
+      throw new IllegalStateException("failed");
+    })).isInstanceOf(IllegalStateException.class);
+  }
+
+  @Test(description = "Test the hedge rate is enforced over the calls of the last seconds, older calls age out")
+  public void testHedgeRateWindow() {
+    ChameleonHedger.HedgeRateWindow window = new ChameleonHedger.HedgeRateWindow();
+    long now = TimeUnit.SECONDS.toNanos(100);
+    for (int i = 0; i < 10; i++) {
+      window.recordCall(now);
+    }
+
+    assertThat(window.tryHedge(now, 0.1)).isTrue();
+    assertThat(window.tryHedge(now, 0.1)).isFalse();
+
+    long later = now + TimeUnit.SECONDS.toNanos(ChameleonHedger.HedgeRateWindow.BUCKETS);
+    window.recordCall(later);
+
+    assertThat(window.tryHedge(later, 1.0)).isTrue();
+    assertThat(window.tryHedge(later, 1.0)).isFalse();
+  }
+
+  private static void warmUp(ChameleonHedger hedger) {
+    for (int i = 0; i < 4; i++) {
+      hedger.call(() -> "fast");
+    }
+    assertThat(hedger.getHedgeDelayNanos()).isEqualTo(TimeUnit.MILLISECONDS.toNanos(5));
+  }
+
+  private static void awaitUninterruptibly(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static void sleepUninterruptibly(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
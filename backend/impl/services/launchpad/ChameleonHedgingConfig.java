@@ -0,0 +1,42 @@
+package com.linkedin.voyager.growth.launchpad.dash.impl.services;
+
+import java.time.Duration;
+import lombok.Builder;
+import lombok.Value;
+
+
+/**
+ * Tuning knobs for hedging slow Chameleon calls
+ */
+@Value
+@Builder(toBuilder = true)
+public class ChameleonHedgingConfig {
+  public static final ChameleonHedgingConfig DISABLED = ChameleonHedgingConfig.builder().enabled(false).build();
+
+  @Builder.Default
+  boolean enabled = true;
+
+  /**
+   * A second call is sent once the first one is slower than this percentile of the recent calls
+   */
+  @Builder.Default
+  double percentile = 95.0;
+
+  /**
+   * Lower bound of the hedging delay, so a fast upstream is never hedged on noise
+   */
+  @Builder.Default
+  Duration minDelay = Duration.ofMillis(10);
+
+  /**
+   * Upper bound of the share of calls that are hedged
+   */
+  @Builder.Default
+  double maxHedgeRate = 0.05;
+
+  /**
+   * Number of recent call latencies the percentile is computed over
+   */
+  @Builder.Default
+  int windowSize = 256;
+}
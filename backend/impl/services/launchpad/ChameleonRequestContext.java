@@ -0,0 +1,127 @@
+package com.linkedin.voyager.growth.launchpad.dash.impl.services;
+
+import com.google.common.collect.ImmutableMap;
+import com.linkedin.common.LocaleUtil;
+import com.linkedin.common.urn.MemberUrn;
+import com.linkedin.common.urn.Urn;
+import com.linkedin.lix.dsl.v2.api.LixDslFactory;
+import com.linkedin.lix.dsl.v2.api.UserContext;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import javax.annotation.Nullable;
+
+
+/**
+ * Request state the Chameleon calls depend on, resolved once per request and then shared by every config fetch and
+ * field lookup of the request. Immutable, so it can be captured by loaders running on background threads.
+ */
+final class ChameleonRequestContext {
+  static final String CHAMELEON_PREVIEW_HEADER_KEY = "x-li-chameleon-mt-preview";
+  static final String CHAMELEON_PREVIEW_DEFAULT_FALLBACK_HEADER = "x-li-chameleon-preview-default-fallback";
+  // Member of the loads made outside of any request, so they select no real member's variant of a targeted config
+  static final Urn BACKGROUND_MEMBER_URN = new MemberUrn(0L);
+
+  private final Urn memberUrn;
+  private final Locale locale;
+  private final com.linkedin.common.Locale chameleonLocale;
+  private final Map<String, Object> i18nKeyParams;
+  private final Map<String, String> headers;
+  @Nullable
+  private final String previewHeader;
+  // Read from thread local request state, so it is captured with the rest of the request state. None outside of a
+  // request, where the thread local state belongs to whatever the scheduler thread ran before.
+  @Nullable
+  private final UserContext lixUserContext;
+  private final boolean background;
+
+  private ChameleonRequestContext(Urn memberUrn, Locale locale, Map<String, String> headers,
+      @Nullable String previewHeader, @Nullable UserContext lixUserContext, boolean background) {
+    this.memberUrn = memberUrn;
+    this.locale = locale;
+    this.chameleonLocale = LocaleUtil.fromJavaLocale(locale);
+    this.i18nKeyParams = ImmutableMap.of(ChameleonService.PARAM_LOCALE, chameleonLocale);
+    this.headers = headers;
+    this.previewHeader = previewHeader;
+    this.lixUserContext = lixUserContext;
+    this.background = background;
+  }
+
+  /**
+   * Must be called on the request thread, the lix user context of the request is captured from it.
+   * @param requestHeaders the headers of the request, copied. Preview requests get the default fallback header added.
+   */
+  static ChameleonRequestContext of(Urn memberUrn, Locale locale, Map<String, String> requestHeaders) {
+    String previewHeader = requestHeaders.get(CHAMELEON_PREVIEW_HEADER_KEY);
+    Map<String, String> headers = requestHeaders;
+    if (previewHeader != null && !requestHeaders.containsKey(CHAMELEON_PREVIEW_DEFAULT_FALLBACK_HEADER)) {
+      headers = ImmutableMap.<String, String>builder()
+          .putAll(requestHeaders)
+          .put(CHAMELEON_PREVIEW_DEFAULT_FALLBACK_HEADER, "true")
+          .build();
+    }
+    return new ChameleonRequestContext(memberUrn, locale, ImmutableMap.copyOf(headers), previewHeader,
+        LixDslFactory.createUserContext(), false);
+  }
+
+  /**
+   * Request state of the loads made outside of any request, e.g. background refreshes: no member, no headers, no lix
+   * user context, and nothing is tracked or counted as a request for them.
+   */
+  static ChameleonRequestContext background(Locale locale) {
+    return new ChameleonRequestContext(BACKGROUND_MEMBER_URN, locale, ImmutableMap.of(), null, null, true);
+  }
+
+  Urn getMemberUrn() {
+    return memberUrn;
+  }
+
+  Locale getLocale() {
+    return locale;
+  }
+
+  com.linkedin.common.Locale getChameleonLocale() {
+    return chameleonLocale;
+  }
+
+  /**
+   * @return the parameters to resolve i18n content with
+   */
+  Map<String, Object> getI18NKeyParams() {
+    return i18nKeyParams;
+  }
+
+  /**
+   * @return the immutable headers to send to Chameleon
+   */
+  Map<String, String> getHeaders() {
+    return headers;
+  }
+
+  /**
+   * @return the Chameleon preview header of the request, if any
+   */
+  Optional<String> getPreviewHeader() {
+    return Optional.ofNullable(previewHeader);
+  }
+
+  boolean isPreview() {
+    return previewHeader != null;
+  }
+
+  /**
+   * @return the lix user context of the request, to pass to the content lookups made off the request thread. Null for
+   * the loads made outside of any request.
+   */
+  @Nullable
+  UserContext getLixUserContext() {
+    return lixUserContext;
+  }
+
+  /**
+   * @return true if the load is made outside of any request, see {@link #background(Locale)}
+   */
+  boolean isBackground() {
+    return background;
+  }
+}
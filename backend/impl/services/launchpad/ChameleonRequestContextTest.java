@@ -0,0 +1,41 @@
+package com.linkedin.voyager.growth.launchpad.dash.impl.services;
+
+import com.google.common.collect.ImmutableMap;
+import com.linkedin.common.LocaleUtil;
+import com.linkedin.common.urn.MemberUrn;
+import com.linkedin.voyager.common.test.helpers.test.VoyagerAsyncTaskUnitTest;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import org.testng.annotations.Test;
+
+
+/**
+ * Unit test for {@link ChameleonRequestContext}.
+ * */
+public class ChameleonRequestContextTest extends VoyagerAsyncTaskUnitTest {
+  private static final MemberUrn MEMBER_URN = new MemberUrn(100L);
+
+  @Test(description = "Test the headers are an immutable snapshot of the request headers")
+  public void testHeadersAreSnapshot() {
+    Map<String, String> requestHeaders = new HashMap<>(ImmutableMap.of("x-li-chameleon-ec-test_id", "1"));
+    ChameleonRequestContext context = ChameleonRequestContext.of(MEMBER_URN, Locale.US, requestHeaders);
+    requestHeaders.put("x-li-other", "2");
+
+    assertThat(context.getHeaders()).containsExactly(entry("x-li-chameleon-ec-test_id", "1"));
+    assertThat(context.isPreview()).isFalse();
+    assertThat(context.getI18NKeyParams())
+        .containsExactly(entry(ChameleonService.PARAM_LOCALE, LocaleUtil.fromJavaLocale(Locale.US)));
+  }
+
+  @Test(description = "Test preview requests get the default fallback header")
+  public void testPreviewRequest() {
+    ChameleonRequestContext context = ChameleonRequestContext.of(MEMBER_URN, Locale.US,
+        ImmutableMap.of(ChameleonRequestContext.CHAMELEON_PREVIEW_HEADER_KEY, "true"));
+
+    assertThat(context.isPreview()).isTrue();
+    assertThat(context.getPreviewHeader()).hasValue("true");
+    assertThat(context.getHeaders())
+        .containsEntry(ChameleonRequestContext.CHAMELEON_PREVIEW_DEFAULT_FALLBACK_HEADER, "true");
+  }
+}
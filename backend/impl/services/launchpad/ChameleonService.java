@@ -12,8 +12,13 @@
 package com.linkedin.voyager.growth.launchpad.dash.impl.services;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalCause;
+import com.google.common.cache.RemovalListener;
+import com.google.common.cache.Weigher;
 import com.google.common.collect.ImmutableList;
-import com.google.common.collect.ImmutableMap;
+import com.google.common.primitives.Longs;
 import com.linkedin.chameleon.client.api.ConfigPipelineMgr;
 import com.linkedin.chameleon.client.impl.ConfigTargetingInfo;
 import com.linkedin.chameleon.client.impl.pipelines.ConfigPipelineUtils;
@@ -21,21 +26,37 @@ import com.linkedin.chameleon.client.impl.pipelines.ConfigQuery;
 import com.linkedin.chameleon.client.impl.pipelines.ContentKey;
 import com.linkedin.chameleon.client.impl.pipelines.genericpipeline.ChameleonConfig;
 import com.linkedin.chameleon.client.impl.pipelines.genericpipeline.ChameleonPayloadObject;
-import com.linkedin.common.Locale;
-import com.linkedin.common.LocaleUtil;
 import com.linkedin.common.urn.MultiProductUrn;
 import com.linkedin.common.urn.Urn;
 import com.linkedin.featurecustomization.CustomizationConfigMetadata;
-import com.linkedin.lix.dsl.v2.api.LixDslFactory;
 import com.linkedin.pemberly.api.server.context.CurrentRequestService;
+import com.linkedin.pemberly.api.server.context.RequestFacade;
 import com.linkedin.pemberly.api.server.context.RequestLocaleService;
 import com.linkedin.voyager.common.core.api.helpers.OptionalHelpers;
 import com.linkedin.voyager.common.core.api.helpers.VoyagerMemberFinder;
+import com.linkedin.voyager.growth.launchpad.dash.impl.monitoring.ChameleonLatencySensor;
 import com.linkedin.voyager.growth.launchpad.dash.impl.monitoring.ChameleonServiceCounterSensor;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import javax.annotation.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -43,17 +64,51 @@ import org.slf4j.LoggerFactory;
 /**
  * Service to get Chameleon config
  * */
-abstract class ChameleonService {
+abstract class ChameleonService implements AutoCloseable {
   private static final Logger LOG = LoggerFactory.getLogger(ChameleonService.class);
-  private static final String CHAMELEON_PREVIEW_HEADER_KEY = "x-li-chameleon-mt-preview";
-  private static final String CHAMELEON_PREVIEW_DEFAULT_FALLBACK_HEADER = "x-li-chameleon-preview-default-fallback";
   public static final String PARAM_LOCALE = "locale";
+  private static final String REQUEST_START_KEY = "requestStart";
+  private static final String REQUEST_CONTEXT_KEY = "requestContext";
+  private static final String REQUEST_START_PREFIX = "t=";
+  // Key type of the counters of the i18n string cache, keyed by the content urn
+  private static final String CONTENT_KEY_TYPE = "contentKey";
+  // Key type of the counters of the service itself, keyed by the service name
+  protected static final String SERVICE_KEY_TYPE = "service";
+  // Approximate per entry overhead of the i18n string cache, in characters
+  private static final int I18N_STRING_CACHE_ENTRY_WEIGHT = 64;
 
   protected final ConfigPipelineMgr configPipelineManager;
   protected final VoyagerMemberFinder voyagerMemberFinder;
   protected final RequestLocaleService requestLocaleService;
   protected final CurrentRequestService currentRequestService;
   protected final ChameleonServiceCounterSensor chameleonServiceCounterSensor;
+  protected final ChameleonLatencySensor latencySensor;
+  protected final Executor chameleonExecutor;
+  protected final Executor contentExecutor;
+  private final Executor previewExecutor;
+  private final long contentLookupTimeoutMillis;
+  private final long requestBudgetNanos;
+  private final long minRemainingBudgetNanos;
+  @Nullable
+  private final String requestStartHeader;
+  private final RequestScopedCache<String, Long> requestStartNanos;
+  private final RequestScopedCache<String, ChameleonRequestContext> requestContexts;
+  private final ChameleonCircuitBreaker configCircuitBreaker;
+  private final ChameleonCircuitBreaker contentCircuitBreaker;
+  private final ChameleonCircuitBreaker previewCircuitBreaker;
+  private final ChameleonHedger configHedger;
+  private final ChameleonHedger contentHedger;
+  // Resolved i18n strings only depend on the content urn and locale, so they are shared across members and requests
+  @Nullable
+  private final Cache<ContentKey, String> i18nStringCache;
+  @Nullable
+  private final ChameleonTrackingQueue<ChameleonConfig> trackingQueue;
+  @Nullable
+  private final ScheduledExecutorService scheduler;
+  // Every executor handed to the service, shut down when it is closed. The tracking executor is shut down last.
+  private final List<Executor> ownedExecutors = new ArrayList<>();
+  private final Executor trackingExecutor;
+  private final long shutdownTimeoutNanos;
 
   /**
    * Define the name of the service that extends ChameleonService
@@ -67,58 +122,587 @@ abstract class ChameleonService {
       RequestLocaleService requestLocaleService,
       VoyagerMemberFinder voyagerMemberFinder,
       ChameleonServiceCounterSensor chameleonServiceCounterSensor) {
+    this(configPipelineManager, currentRequestService, requestLocaleService, voyagerMemberFinder,
+        chameleonServiceCounterSensor, ChameleonServiceConfig.DEFAULT);
+  }
+
+  protected ChameleonService(
+      ConfigPipelineMgr configPipelineManager,
+      CurrentRequestService currentRequestService,
+      RequestLocaleService requestLocaleService,
+      VoyagerMemberFinder voyagerMemberFinder,
+      ChameleonServiceCounterSensor chameleonServiceCounterSensor,
+      ChameleonServiceConfig serviceConfig) {
     this.configPipelineManager = configPipelineManager;
     this.currentRequestService = currentRequestService;
     this.requestLocaleService = requestLocaleService;
     this.voyagerMemberFinder = voyagerMemberFinder;
     this.chameleonServiceCounterSensor = chameleonServiceCounterSensor;
+    this.latencySensor = serviceConfig.getLatencySensor();
+    this.chameleonExecutor = serviceConfig.getChameleonExecutor();
+    this.contentExecutor = serviceConfig.getContentExecutor();
+    this.previewExecutor = serviceConfig.getPreviewExecutor();
+    this.scheduler = serviceConfig.getScheduler();
+    this.trackingExecutor = serviceConfig.getTrackingExecutor();
+    this.shutdownTimeoutNanos = serviceConfig.getShutdownTimeout().toNanos();
+    ownExecutor(chameleonExecutor);
+    ownExecutor(contentExecutor);
+    ownExecutor(previewExecutor);
+    ownExecutor(serviceConfig.getHedgingExecutor());
+    this.contentLookupTimeoutMillis = serviceConfig.getContentLookupTimeout().toMillis();
+    this.requestBudgetNanos = serviceConfig.getRequestBudget().toNanos();
+    this.minRemainingBudgetNanos = serviceConfig.getMinRemainingBudget().toNanos();
+    this.requestStartHeader = serviceConfig.getRequestStartHeader();
+    this.requestStartNanos = new RequestScopedCache<>(currentRequestService);
+    this.requestContexts = new RequestScopedCache<>(currentRequestService);
+    this.configCircuitBreaker = new ChameleonCircuitBreaker("config", serviceConfig.getCircuitBreaker());
+    this.contentCircuitBreaker = new ChameleonCircuitBreaker("content", serviceConfig.getCircuitBreaker());
+    this.previewCircuitBreaker = new ChameleonCircuitBreaker("preview", serviceConfig.getCircuitBreaker());
+    this.configHedger = newHedger(serviceConfig, "config");
+    this.contentHedger = newHedger(serviceConfig, "content");
+    this.i18nStringCache = serviceConfig.isContentCacheEnabled() ? buildI18NStringCache(serviceConfig) : null;
+    this.trackingQueue = serviceConfig.getTracking().isEnabled()
+        ? new ChameleonTrackingQueue<>(serviceConfig.getTracking(), this::fireAllTracking,
+            serviceConfig.getTrackingExecutor(), () -> chameleonServiceCounterSensor.increment(
+                ChameleonServiceCounterSensor.Attribute.CHAMELEON_TRACKING_DROPPED, SERVICE_KEY_TYPE, getName(), ""))
+        : null;
+  }
+
+  private ChameleonHedger newHedger(ChameleonServiceConfig serviceConfig, String callType) {
+    return new ChameleonHedger(serviceConfig.getHedging(), serviceConfig.getHedgingExecutor(),
+        serviceConfig.getScheduler(),
+        () -> chameleonServiceCounterSensor.increment(ChameleonServiceCounterSensor.Attribute.CHAMELEON_HEDGED_REQUEST,
+            SERVICE_KEY_TYPE, getName(), callType),
+        () -> chameleonServiceCounterSensor.increment(ChameleonServiceCounterSensor.Attribute.CHAMELEON_HEDGE_WON,
+            SERVICE_KEY_TYPE, getName(), callType));
+  }
+
+  private Cache<ContentKey, String> buildI18NStringCache(ChameleonServiceConfig serviceConfig) {
+    return CacheBuilder.newBuilder()
+        .maximumWeight(serviceConfig.getContentCacheMaxWeight())
+        .weigher((Weigher<ContentKey, String>) (contentKey, value) -> I18N_STRING_CACHE_ENTRY_WEIGHT + value.length())
+        .expireAfterWrite(serviceConfig.getContentCacheTtl().toMillis(), TimeUnit.MILLISECONDS)
+        .removalListener((RemovalListener<ContentKey, String>) notification -> {
+          // Expired strings are simply reloaded, only the ones pushed out by the weight bound are worth counting
+          if (notification.getCause() == RemovalCause.SIZE) {
+            chameleonServiceCounterSensor.increment(ChameleonServiceCounterSensor.Attribute.CHAMELEON_I18N_CACHE_EVICTION,
+                CONTENT_KEY_TYPE, notification.getKey().getKey(), "");
+          }
+        })
+        .build();
   }
 
   protected List<ChameleonConfig> getConfigsFromChameleon(Urn configTypeUrn, Map<String, Object> configParams) {
+    return getConfigsFromChameleon(configTypeUrn, configParams, getRequestContext());
+  }
+
+  /**
+   * Same as {@link #getConfigsFromChameleon(Urn, Map)} but with the request state passed in explicitly,
+   * so the call can be made outside of the request thread (e.g. a background cache refresh).
+   */
+  protected List<ChameleonConfig> getConfigsFromChameleon(Urn configTypeUrn, Map<String, Object> configParams,
+      ChameleonRequestContext requestContext) {
     String configFormat = ConfigPipelineUtils.getConfigFormatFromConfigTypeUrn(configTypeUrn);
     MultiProductUrn multiProductUrn = ConfigPipelineUtils.getMultiProductUrnFromConfigTypeUrn(configTypeUrn);
     ConfigQuery configQuery = new ConfigQuery(configFormat, multiProductUrn);
-    Map<String, String> requestHeaders = this.currentRequestService.getCurrentRequest().getHeaders();
-    if (requestHeaders.containsKey(CHAMELEON_PREVIEW_HEADER_KEY)) {
-      requestHeaders.put(CHAMELEON_PREVIEW_DEFAULT_FALLBACK_HEADER, "true");
+    if (requestContext.isPreview()) {
+      chameleonServiceCounterSensor.increment(ChameleonServiceCounterSensor.Attribute.CHAMELEON_PREVIEW_REQUEST,
+          SERVICE_KEY_TYPE, getName(), "config");
+    }
+    long startNanos = System.nanoTime();
+    try {
+      return callChameleon(requestContext, configHedger, configCircuitBreaker,
+          () -> configPipelineManager.getConfigsSync(configQuery, requestContext.getMemberUrn(), configParams, null,
+              requestContext.getHeaders(), false));
+    } finally {
+      latencySensor.recordSince(getName(), ChameleonLatencySensor.Stage.CONFIG_FETCH, startNanos);
+    }
+  }
+
+  /**
+   * Async variant of {@link #getConfigsFromChameleon(Urn, Map)}.
+   * The request state is captured on the calling thread, the Chameleon call itself runs on the Chameleon executor.
+   */
+  protected CompletableFuture<List<ChameleonConfig>> getConfigsFromChameleonAsync(Urn configTypeUrn,
+      Map<String, Object> configParams) {
+    ChameleonRequestContext requestContext = getRequestContext();
+    return supplyAsync(requestContext, () -> getConfigsFromChameleon(configTypeUrn, configParams, requestContext));
+  }
+
+  /**
+   * Run a Chameleon call of a request on the calling thread. Calls of preview requests go through their own circuit
+   * breaker and are never hedged, so preview traffic can neither open the circuit of regular traffic nor add hedged
+   * load.
+   */
+  private <T> T callChameleon(ChameleonRequestContext requestContext, ChameleonHedger hedger,
+      ChameleonCircuitBreaker circuitBreaker, Supplier<T> chameleonCall) {
+    if (requestContext.isPreview()) {
+      return callChameleon(previewCircuitBreaker, chameleonCall);
+    }
+    return hedger.call(() -> callChameleon(circuitBreaker, chameleonCall));
+  }
+
+  /**
+   * Run a Chameleon call through its circuit breaker
+   * @throws ChameleonCircuitOpenException without calling Chameleon, while the circuit is open
+   */
+  private <T> T callChameleon(ChameleonCircuitBreaker circuitBreaker, Supplier<T> chameleonCall) {
+    try {
+      return circuitBreaker.call(chameleonCall);
+    } catch (ChameleonCircuitOpenException e) {
+      chameleonServiceCounterSensor.increment(ChameleonServiceCounterSensor.Attribute.CHAMELEON_CIRCUIT_OPEN,
+          SERVICE_KEY_TYPE, getName(), circuitBreaker.getName());
+      throw e;
+    }
+  }
+
+  /**
+   * Failures caused by an open circuit are expected and already counted, so they are not logged as errors
+   */
+  private void logResolveFailure(String message, Exception e) {
+    Throwable cause = e instanceof CompletionException ? e.getCause() : e;
+    if (cause instanceof ChameleonCircuitOpenException) {
+      LOG.debug(message, e);
+    } else {
+      LOG.error(message, e);
+    }
+  }
+
+  /**
+   * Run a blocking Chameleon call on the Chameleon executor, so request and ParSeq threads are not pinned for the
+   * upstream latency. The call must not read request scoped state. If the executor is saturated, the call runs on the
+   * calling thread instead.
+   */
+  protected <T> CompletableFuture<T> supplyAsync(Supplier<T> chameleonCall) {
+    return supplyAsync(chameleonCall, chameleonExecutor);
+  }
+
+  /**
+   * Same as {@link #supplyAsync(Supplier)}, except that the calls of preview requests run in the preview lane:
+   * on the preview executor, and failed with a {@link ChameleonFetchException} instead of run inline when it is
+   * saturated.
+   */
+  protected <T> CompletableFuture<T> supplyAsync(ChameleonRequestContext requestContext, Supplier<T> chameleonCall) {
+    if (!requestContext.isPreview()) {
+      return supplyAsync(chameleonCall);
+    }
+    try {
+      return CompletableFuture.supplyAsync(chameleonCall, previewExecutor);
+    } catch (RejectedExecutionException e) {
+      chameleonServiceCounterSensor.increment(ChameleonServiceCounterSensor.Attribute.CHAMELEON_PREVIEW_REJECTED,
+          SERVICE_KEY_TYPE, getName(), "");
+      CompletableFuture<T> result = new CompletableFuture<>();
+      result.completeExceptionally(
+          new ChameleonFetchException("Preview executor is saturated in a service " + getName(), e));
+      return result;
+    }
+  }
+
+  /**
+   * Wait until all the content lookups complete or the content lookup deadline passes.
+   * Lookups still running after the deadline finish in the background, callers should treat them as unresolved.
+   */
+  protected void awaitContentLookups(Collection<? extends CompletableFuture<?>> contentLookups) {
+    try {
+      CompletableFuture.allOf(contentLookups.toArray(new CompletableFuture<?>[0]))
+          .get(contentLookupTimeoutMillis, TimeUnit.MILLISECONDS);
+    } catch (TimeoutException e) {
+      LOG.warn("Content lookups did not complete within " + contentLookupTimeoutMillis + "ms in a service " + getName());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (ExecutionException e) {
+      // Failures are accounted for by the individual lookups
+    }
+  }
+
+  private <T> CompletableFuture<T> supplyAsync(Supplier<T> chameleonCall, Executor executor) {
+    try {
+      return CompletableFuture.supplyAsync(chameleonCall, executor);
+    } catch (RejectedExecutionException e) {
+      LOG.warn("Chameleon executor is saturated in a service " + getName() + ", running the call inline");
+      CompletableFuture<T> result = new CompletableFuture<>();
+      try {
+        result.complete(chameleonCall.get());
+      } catch (RuntimeException ex) {
+        result.completeExceptionally(ex);
+      }
+      return result;
+    }
+  }
+
+  /**
+   * Run a task periodically on the scheduler of the service, until the service is closed.
+   * Does nothing if the service has no scheduler or the interval is not positive.
+   */
+  public void scheduleWithFixedDelay(String taskName, Runnable task, Duration interval) {
+    long intervalMillis = interval.toMillis();
+    if (scheduler == null || intervalMillis <= 0) {
+      return;
+    }
+    // A task that throws is never run again by the scheduler, so failures are only logged
+    scheduler.scheduleWithFixedDelay(logFailures(taskName, task), intervalMillis, intervalMillis,
+        TimeUnit.MILLISECONDS);
+  }
+
+  private Runnable logFailures(String taskName, Runnable task) {
+    return () -> {
+      try {
+        task.run();
+      } catch (RuntimeException e) {
+        LOG.warn("Background task " + taskName + " failed in a service " + getName(), e);
+      }
+    };
+  }
+
+  /**
+   * Hand an executor over to the service, which shuts it down together with its own executors when it is closed
+   */
+  protected final void ownExecutor(Executor executor) {
+    ownedExecutors.add(executor);
+  }
+
+  /**
+   * Shut the service down, e.g. when the instance shuts down:
+   * the periodic background work and the hedge timers stop first, so nothing submits new work. The executors of the
+   * service then finish the calls they already accepted, within the shutdown timeout. The queued tracking events are
+   * emitted last, see {@link #shutdownTracking()}, so the events of those calls and of a flush still queued on the
+   * tracking executor are not lost.
+   */
+  @Override
+  public void close() {
+    long deadlineNanos = System.nanoTime() + shutdownTimeoutNanos;
+    if (scheduler != null) {
+      scheduler.shutdownNow();
+      shutdownAndAwait(Collections.singletonList(scheduler), deadlineNanos);
+    }
+    shutdownAndAwait(ownedExecutors, deadlineNanos);
+    shutdownTracking();
+    shutdownAndAwait(Collections.singletonList(trackingExecutor), deadlineNanos);
+  }
+
+  /**
+   * Shut down the executors that can be, then wait for them until the deadline. Those still running by then are
+   * interrupted.
+   */
+  private void shutdownAndAwait(List<? extends Executor> executors, long deadlineNanos) {
+    List<ExecutorService> executorServices = executors.stream()
+        .filter(ExecutorService.class::isInstance)
+        .map(ExecutorService.class::cast)
+        .distinct()
+        .collect(Collectors.toList());
+    executorServices.forEach(ExecutorService::shutdown);
+    for (ExecutorService executorService : executorServices) {
+      try {
+        if (!executorService.awaitTermination(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+          LOG.warn("Executor did not terminate within the shutdown timeout in a service " + getName());
+          executorService.shutdownNow();
+        }
+      } catch (InterruptedException e) {
+        executorService.shutdownNow();
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  /**
+   * Get the deadline of the current request for Chameleon work. The budget starts when the request started, so the
+   * time spent before the request reached this service counts too. Must be called on the request thread.
+   * @return the deadline, or {@link ChameleonDeadline#NONE} if no request budget is configured
+   */
+  protected ChameleonDeadline getRequestDeadline() {
+    if (requestBudgetNanos <= 0) {
+      return ChameleonDeadline.NONE;
+    }
+    long startNanos = requestStartNanos.computeIfAbsent(REQUEST_START_KEY, ignored -> getRequestStartNanos());
+    return ChameleonDeadline.at(startNanos + requestBudgetNanos);
+  }
+
+  /**
+   * @return when the current request started as a {@link System#nanoTime()} value, read from the request start
+   * header. Now if there is no such header, or it can not be parsed.
+   */
+  private long getRequestStartNanos() {
+    long nowNanos = System.nanoTime();
+    String requestStart = requestStartHeader != null ? getCurrentRequestHeaders().get(requestStartHeader) : null;
+    if (requestStart == null) {
+      return nowNanos;
+    }
+    Long startMillis = Longs.tryParse(requestStart.startsWith(REQUEST_START_PREFIX)
+        ? requestStart.substring(REQUEST_START_PREFIX.length()) : requestStart);
+    if (startMillis == null) {
+      return nowNanos;
+    }
+    // Clocks of the edge and of this host may be slightly apart, a start in the future counts as now
+    long elapsedMillis = Math.max(0L, System.currentTimeMillis() - startMillis);
+    return nowNanos - TimeUnit.MILLISECONDS.toNanos(elapsedMillis);
+  }
+
+  /**
+   * @return true if too little of the request budget is left to wait for a Chameleon call
+   */
+  protected boolean isBudgetNearlySpent(ChameleonDeadline deadline) {
+    return deadline.isBounded() && deadline.remainingNanos() < minRemainingBudgetNanos;
+  }
+
+  /**
+   * Wait for a Chameleon result within the request budget
+   * @param fallback supplies the result to serve if the budget runs out, e.g. a cached value
+   * @param keyType used for monitoring
+   * @param key used for monitoring
+   */
+  protected <T> T awaitWithinBudget(CompletableFuture<T> result, ChameleonDeadline deadline, Supplier<T> fallback,
+      String keyType, String key) {
+    if (result.isDone() || !deadline.isBounded()) {
+      return result.join();
     }
-    return configPipelineManager
-        .getConfigsSync(configQuery, voyagerMemberFinder.getMemberUrn(), configParams, null,
-            requestHeaders, false);
+    if (isBudgetNearlySpent(deadline)) {
+      return onBudgetExceeded(fallback, keyType, key);
+    }
+    try {
+      return result.get(deadline.remainingNanos(), TimeUnit.NANOSECONDS);
+    } catch (TimeoutException e) {
+      return onBudgetExceeded(fallback, keyType, key);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return fallback.get();
+    } catch (ExecutionException e) {
+      throw new ChameleonFetchException("Chameleon call failed in a service " + getName(), e.getCause());
+    }
+  }
+
+  /**
+   * Count the exceeded budget and serve the fallback. The Chameleon call itself keeps running in the background.
+   */
+  protected <T> T onBudgetExceeded(Supplier<T> fallback, String keyType, String key) {
+    chameleonServiceCounterSensor.increment(ChameleonServiceCounterSensor.Attribute.CHAMELEON_BUDGET_EXCEEDED,
+        keyType, key, "");
+    return fallback.get();
+  }
+
+  /**
+   * Get the Chameleon state of the current request. It is resolved on the first call within a request and then
+   * reused, so it must be called on the request thread. Outside of a request it is resolved on every call.
+   */
+  protected ChameleonRequestContext getRequestContext() {
+    return requestContexts.computeIfAbsent(REQUEST_CONTEXT_KEY, ignored -> ChameleonRequestContext.of(
+        voyagerMemberFinder.getMemberUrn(), requestLocaleService.getLocale(), getCurrentRequestHeaders()));
+  }
+
+  /**
+   * @return the latency sensor of the fetch path, for the formatters of the configs to record their own stages to
+   */
+  public ChameleonLatencySensor getLatencySensor() {
+    return latencySensor;
+  }
+
+  private Map<String, String> getCurrentRequestHeaders() {
+    RequestFacade request = this.currentRequestService.getCurrentRequest();
+    return request != null ? request.getHeaders() : Collections.emptyMap();
   }
 
   @VisibleForTesting
   protected Optional<String> getI18NStringContent(ChameleonConfig config, String fieldToGet, ChameleonPayloadObject payloadObject,
       String keyType, String key) {
+    return getI18NStringContent(config, fieldToGet, payloadObject, keyType, key, getRequestContext());
+  }
+
+  /**
+   * Same as {@link #getI18NStringContent(ChameleonConfig, String, ChameleonPayloadObject, String, String)} but with
+   * the request state passed in explicitly.
+   */
+  protected Optional<String> getI18NStringContent(ChameleonConfig config, String fieldToGet, ChameleonPayloadObject payloadObject,
+      String keyType, String key, ChameleonRequestContext requestContext) {
     try {
-      Locale locale = LocaleUtil.fromJavaLocale(requestLocaleService.getLocale());
-      ImmutableMap<String, Object> i18nKeyParams = new ImmutableMap.Builder<String, Object>()
-          .put(PARAM_LOCALE, locale)
-          .build();
-      ContentKey contentKey;
       if (!payloadObject.hasChameleonContentUrn(ImmutableList.of(fieldToGet))) {
         // This optional field is not present in the data, returning empty
         return Optional.empty();
       }
-      contentKey = new ContentKey(payloadObject.getChameleonContentUrn(ImmutableList.of(fieldToGet)), locale);
-      ChameleonConfig objectConfig = configPipelineManager.getContentConfigSync(contentKey, voyagerMemberFinder.getMemberUrn(),
-          config.getIdOption(), i18nKeyParams, LixDslFactory.createUserContext(), Collections.emptyMap(), false);
-      ChameleonPayloadObject object = new ChameleonPayloadObject(objectConfig);
+      ContentKey contentKey = new ContentKey(payloadObject.getChameleonContentUrn(ImmutableList.of(fieldToGet)),
+          requestContext.getChameleonLocale());
+      Optional<String> cachedString = getCachedI18NString(contentKey, keyType, key, fieldToGet, requestContext);
+      if (cachedString.isPresent()) {
+        return cachedString;
+      }
+      return Optional.of(resolveI18NString(config, contentKey, requestContext));
+    } catch (Exception e) {
+      logResolveFailure("Not able to resolve I18N string for field " + fieldToGet + " in config " + config
+          + "in a service " + getName(), e);
+      chameleonServiceCounterSensor.increment(
+          ChameleonServiceCounterSensor.Attribute.CHAMELEON_I18N_RESOLVE_FAILED, keyType, key, fieldToGet);
+      return Optional.empty();
+    }
+  }
 
-      return Optional.of(object.getString(Collections.emptyList()));
+  /**
+   * Get the key of the i18n content referenced by a field, without resolving it
+   * @return the content key, or empty if the optional field is not present in the data
+   */
+  protected Optional<ContentKey> getI18NContentKey(ChameleonConfig config, String fieldToGet,
+      ChameleonPayloadObject payloadObject, String keyType, String key, ChameleonRequestContext requestContext) {
+    try {
+      List<String> fieldsToGet = ImmutableList.of(fieldToGet);
+      if (!payloadObject.hasChameleonContentUrn(fieldsToGet)) {
+        return Optional.empty();
+      }
+      return Optional.of(new ContentKey(payloadObject.getChameleonContentUrn(fieldsToGet), requestContext.getChameleonLocale()));
     } catch (Exception e) {
-      LOG.error("Not able to resolve I18N string for field " + fieldToGet + " in config " + config + "in a service " + getName(), e);
+      LOG.error("Not able to get I18N content key for field " + fieldToGet + " in config " + config + "in a service " + getName(), e);
       chameleonServiceCounterSensor.increment(
           ChameleonServiceCounterSensor.Attribute.CHAMELEON_I18N_RESOLVE_FAILED, keyType, key, fieldToGet);
       return Optional.empty();
     }
   }
 
+  /**
+   * Resolve the i18n strings of several content keys of a config in one batch.
+   * Duplicate keys are looked up once and all distinct keys are resolved concurrently within the content lookup
+   * deadline. Every key that fails or misses the deadline is counted as CHAMELEON_I18N_RESOLVE_FAILED and left out
+   * of the result. The keys of preview requests are resolved one after the other on the calling thread, which is
+   * already a preview lane thread, so a preview never holds more than one thread.
+   * @param fieldToGet the field the content keys were read from, used for monitoring
+   * @return the resolved strings by content key
+   */
+  protected Map<ContentKey, String> getI18NStringContents(ChameleonConfig config, Collection<ContentKey> contentKeys,
+      String fieldToGet, String keyType, String key, ChameleonRequestContext requestContext) {
+    long startNanos = System.nanoTime();
+    Map<ContentKey, CompletableFuture<String>> lookups = new LinkedHashMap<>();
+    for (ContentKey contentKey : contentKeys) {
+      lookups.computeIfAbsent(contentKey, distinctKey ->
+          getCachedI18NString(distinctKey, keyType, key, fieldToGet, requestContext)
+              .map(CompletableFuture::completedFuture)
+              .orElseGet(() -> requestContext.isPreview()
+                  ? resolveI18NStringNow(config, distinctKey, requestContext)
+                  : resolveI18NStringAsync(config, distinctKey, requestContext)));
+    }
+    awaitContentLookups(lookups.values());
+
+    Map<ContentKey, String> resolvedStrings = new HashMap<>();
+    lookups.forEach((contentKey, lookup) -> {
+      try {
+        if (!lookup.isDone()) {
+          throw new TimeoutException("Content lookup deadline exceeded");
+        }
+        String resolvedString = lookup.join();
+        if (resolvedString != null) {
+          resolvedStrings.put(contentKey, resolvedString);
+        }
+      } catch (Exception e) {
+        logResolveFailure("Not able to resolve I18N string " + contentKey + " for field " + fieldToGet + " in config "
+            + config + "in a service " + getName(), e);
+        chameleonServiceCounterSensor.increment(
+            ChameleonServiceCounterSensor.Attribute.CHAMELEON_I18N_RESOLVE_FAILED, keyType, key, fieldToGet);
+      }
+    });
+    latencySensor.recordSince(getName(), ChameleonLatencySensor.Stage.CONTENT_BATCH, startNanos);
+    return resolvedStrings;
+  }
+
+  private String resolveI18NString(ChameleonConfig config, ContentKey contentKey,
+      ChameleonRequestContext requestContext) {
+    long startNanos = System.nanoTime();
+    ChameleonConfig objectConfig;
+    try {
+      objectConfig = callChameleon(requestContext, contentHedger, contentCircuitBreaker,
+          () -> getContentConfig(config, contentKey, requestContext));
+    } finally {
+      latencySensor.recordSince(getName(), ChameleonLatencySensor.Stage.CONTENT_RESOLVE, startNanos);
+    }
+    return toI18NString(contentKey, objectConfig, requestContext);
+  }
+
+  /**
+   * Start a content lookup of a regular request on the content executor, so several lookups of one config run
+   * concurrently. A hedged lookup completes with whichever of its calls succeeds first.
+   */
+  private CompletableFuture<String> resolveI18NStringAsync(ChameleonConfig config, ContentKey contentKey,
+      ChameleonRequestContext requestContext) {
+    long startNanos = System.nanoTime();
+    return contentHedger.supplyAsync(() -> callChameleon(contentCircuitBreaker,
+            () -> getContentConfig(config, contentKey, requestContext)), contentExecutor)
+        .whenComplete((objectConfig, e) ->
+            latencySensor.recordSince(getName(), ChameleonLatencySensor.Stage.CONTENT_RESOLVE, startNanos))
+        .thenApply(objectConfig -> toI18NString(contentKey, objectConfig, requestContext));
+  }
+
+  private ChameleonConfig getContentConfig(ChameleonConfig config, ContentKey contentKey,
+      ChameleonRequestContext requestContext) {
+    return configPipelineManager.getContentConfigSync(contentKey, requestContext.getMemberUrn(), config.getIdOption(),
+        requestContext.getI18NKeyParams(), requestContext.getLixUserContext(), Collections.emptyMap(), false);
+  }
+
+  private String toI18NString(ContentKey contentKey, ChameleonConfig objectConfig,
+      ChameleonRequestContext requestContext) {
+    ChameleonPayloadObject object = new ChameleonPayloadObject(objectConfig);
+    String resolvedString = object.getString(Collections.emptyList());
+    // Preview content may be unpublished, so it is never shared with regular traffic
+    if (i18nStringCache != null && resolvedString != null && !requestContext.isPreview()) {
+      i18nStringCache.put(contentKey, resolvedString);
+    }
+    return resolvedString;
+  }
+
+  private CompletableFuture<String> resolveI18NStringNow(ChameleonConfig config, ContentKey contentKey,
+      ChameleonRequestContext requestContext) {
+    CompletableFuture<String> result = new CompletableFuture<>();
+    try {
+      result.complete(resolveI18NString(config, contentKey, requestContext));
+    } catch (RuntimeException e) {
+      result.completeExceptionally(e);
+    }
+    return result;
+  }
+
+  private Optional<String> getCachedI18NString(ContentKey contentKey, String keyType, String key, String fieldToGet,
+      ChameleonRequestContext requestContext) {
+    if (i18nStringCache == null || requestContext.isPreview()) {
+      return Optional.empty();
+    }
+    String cachedString = i18nStringCache.getIfPresent(contentKey);
+    chameleonServiceCounterSensor.increment(cachedString != null
+        ? ChameleonServiceCounterSensor.Attribute.CHAMELEON_I18N_CACHE_HIT
+        : ChameleonServiceCounterSensor.Attribute.CHAMELEON_I18N_CACHE_MISS, keyType, key, fieldToGet);
+    return Optional.ofNullable(cachedString);
+  }
+
   protected void fireChameleonEvent(ChameleonConfig chameleonConfig, Optional<ConfigTargetingInfo> maybeTargetingInfo) {
     Optional<CustomizationConfigMetadata> maybeMetadata = chameleonConfig.getConfigMetadataOption();
     if (OptionalHelpers.allPresent(maybeMetadata, maybeTargetingInfo)) {
       // Manually fire lix tracking event
-      configPipelineManager.fireAllTracking(chameleonConfig.getTrackingInfo());
+      if (trackingQueue != null) {
+        trackingQueue.offer(chameleonConfig);
+      } else {
+        configPipelineManager.fireAllTracking(chameleonConfig.getTrackingInfo());
+      }
+    }
+  }
+
+  /**
+   * Emit the queued tracking events. Meant to be called periodically, off the request path.
+   * @return the number of events emitted
+   */
+  public int flushTracking() {
+    return trackingQueue != null ? trackingQueue.flush() : 0;
+  }
+
+  /**
+   * Stop queueing tracking events and emit the queued ones, e.g. when the instance shuts down.
+   * Events fired afterwards are dropped.
+   * @return the number of events emitted
+   */
+  public int shutdownTracking() {
+    return trackingQueue != null ? trackingQueue.shutdown() : 0;
+  }
+
+  private void fireAllTracking(List<ChameleonConfig> chameleonConfigs) {
+    for (ChameleonConfig chameleonConfig : chameleonConfigs) {
+      try {
+        configPipelineManager.fireAllTracking(chameleonConfig.getTrackingInfo());
+      } catch (RuntimeException e) {
+        // One failed event must not drop the rest of the batch
+        LOG.warn("Not able to fire tracking for config " + chameleonConfig + " in a service " + getName(), e);
+        chameleonServiceCounterSensor.increment(ChameleonServiceCounterSensor.Attribute.CHAMELEON_TRACKING_FAILED,
+            SERVICE_KEY_TYPE, getName(), "");
+      }
     }
   }
 
@@ -0,0 +1,133 @@
+package com.linkedin.voyager.growth.launchpad.dash.impl.services;
+
+import com.google.common.util.concurrent.MoreExecutors;
+import com.linkedin.voyager.growth.launchpad.dash.impl.monitoring.ChameleonLatencySensor;
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import javax.annotation.Nullable;
+import lombok.Builder;
+import lombok.Value;
+
+
+/**
+ * Execution and content caching settings shared by every {@link ChameleonService}, built by the service factories
+ * from their config. The defaults run every call inline on the request thread, without budget, breaker, hedging or
+ * tracking queue. The i18n content cache is the one thing {@link #DEFAULT} turns on, see contentCacheEnabled.
+ */
+@Value
+@Builder
+public class ChameleonServiceConfig {
+  public static final ChameleonServiceConfig DEFAULT = ChameleonServiceConfig.builder().build();
+
+  /**
+   * Executor the blocking Chameleon calls of the async methods run on
+   */
+  @Builder.Default
+  Executor chameleonExecutor = MoreExecutors.directExecutor();
+
+  /**
+   * Executor concurrent content lookups fan out on. It must be separate from the chameleonExecutor,
+   * since config loads running there wait on the content lookups.
+   */
+  @Builder.Default
+  Executor contentExecutor = MoreExecutors.directExecutor();
+
+  /**
+   * How long a config load waits for its content lookups
+   */
+  @Builder.Default
+  Duration contentLookupTimeout = Duration.ofMillis(500);
+
+  @Builder.Default
+  boolean contentCacheEnabled = true;
+
+  /**
+   * Upper bound of the resolved i18n string cache, in characters
+   */
+  @Builder.Default
+  long contentCacheMaxWeight = 8 * 1024 * 1024;
+
+  @Builder.Default
+  Duration contentCacheTtl = Duration.ofMinutes(30);
+
+  /**
+   * Time a request may spend waiting on Chameleon, counted from the start of the request, see requestStartHeader.
+   * Zero disables the budget.
+   */
+  @Builder.Default
+  Duration requestBudget = Duration.ZERO;
+
+  /**
+   * Request header holding the time the request started, in epoch milliseconds, optionally prefixed with "t=".
+   * Without it, or if it is missing from a request, the budget starts when the service first sees the request.
+   */
+  @Nullable
+  String requestStartHeader;
+
+  /**
+   * Once less than this is left of the request budget, no Chameleon call is waited for anymore
+   */
+  @Builder.Default
+  Duration minRemainingBudget = Duration.ofMillis(20);
+
+  /**
+   * Circuit breakers around the config and the content calls, each tracked separately
+   */
+  @Builder.Default
+  ChameleonCircuitBreakerConfig circuitBreaker = ChameleonCircuitBreakerConfig.DISABLED;
+
+  /**
+   * Hedging of slow config and content calls, each tracked separately
+   */
+  @Builder.Default
+  ChameleonHedgingConfig hedging = ChameleonHedgingConfig.DISABLED;
+
+  /**
+   * Executor the second calls of hedged calls run on, their first calls run on the thread making them. It must be
+   * separate from the other executors, since their threads wait on it.
+   */
+  @Builder.Default
+  Executor hedgingExecutor = MoreExecutors.directExecutor();
+
+  /**
+   * Executor the Chameleon calls of preview requests run on, so config editors previewing configs never take
+   * threads from regular traffic. Preview calls are rejected, never run inline, once it is saturated.
+   */
+  @Builder.Default
+  Executor previewExecutor = MoreExecutors.directExecutor();
+
+  /**
+   * Batched emission of the tracking events of served configs. Disabled by default, events are then emitted on the
+   * request thread.
+   */
+  @Builder.Default
+  ChameleonTrackingConfig tracking = ChameleonTrackingConfig.DISABLED;
+
+  /**
+   * Executor the tracking flushes triggered by a full batch run on
+   */
+  @Builder.Default
+  Executor trackingExecutor = MoreExecutors.directExecutor();
+
+  /**
+   * Runs the periodic background work of the service, e.g. the hot config refresh, and starts the second calls of
+   * hedged calls. Owned by the service, which shuts it down when it is closed. No periodic work runs and no call is
+   * hedged without one.
+   */
+  @Nullable
+  ScheduledExecutorService scheduler;
+
+  /**
+   * How long closing the service waits for its executors to finish the calls they already accepted. The service owns
+   * every executor of its config and shuts them down when it is closed.
+   */
+  @Builder.Default
+  Duration shutdownTimeout = Duration.ofSeconds(5);
+
+  /**
+   * Latency histograms of the fetch path, disabled by default
+   */
+  @Builder.Default
+  ChameleonLatencySensor latencySensor = ChameleonLatencySensor.DISABLED;
+}
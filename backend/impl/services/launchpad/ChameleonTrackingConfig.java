@@ -0,0 +1,39 @@
+package com.linkedin.voyager.growth.launchpad.dash.impl.services;
+
+import java.time.Duration;
+import lombok.Builder;
+import lombok.Value;
+
+
+/**
+ * Tuning knobs for emitting Chameleon tracking events off the request path
+ */
+@Value
+@Builder
+public class ChameleonTrackingConfig {
+  public static final ChameleonTrackingConfig DISABLED = ChameleonTrackingConfig.builder().enabled(false).build();
+
+  /**
+   * When disabled, tracking events are emitted synchronously on the request thread
+   */
+  @Builder.Default
+  boolean enabled = true;
+
+  /**
+   * Maximum number of events waiting to be emitted, further events are dropped
+   */
+  @Builder.Default
+  int capacity = 10_000;
+
+  /**
+   * A flush is started as soon as this many events are waiting
+   */
+  @Builder.Default
+  int batchSize = 100;
+
+  /**
+   * Events waiting for fewer than batchSize others are flushed at this interval
+   */
+  @Builder.Default
+  Duration flushInterval = Duration.ofSeconds(1);
+}
@@ -0,0 +1,106 @@
+package com.linkedin.voyager.growth.launchpad.dash.impl.services;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+
+/**
+ * Bounded queue of tracking events, emitted in batches off the request path.
+ * Offering never blocks: once {@link ChameleonTrackingConfig#getCapacity()} events are waiting, further events are
+ * dropped. A batch is flushed on the flush executor as soon as {@link ChameleonTrackingConfig#getBatchSize()} events
+ * are waiting, smaller batches are left to the periodic {@link #flush()}.
+ */
+final class ChameleonTrackingQueue<T> {
+  private static final Logger LOG = LoggerFactory.getLogger(ChameleonTrackingQueue.class);
+
+  private final int batchSize;
+  private final BlockingQueue<T> events;
+  private final Consumer<List<T>> emitter;
+  private final Executor flushExecutor;
+  private final Runnable onDropped;
+  private final AtomicBoolean flushScheduled = new AtomicBoolean(false);
+  private volatile boolean shutdown;
+
+  /**
+   * @param emitter emits a batch of events. The periodic and the triggered flushes may call it concurrently.
+   * @param flushExecutor runs the flushes triggered by a full batch
+   * @param onDropped invoked for every event dropped because the queue is full or shut down
+   */
+  ChameleonTrackingQueue(ChameleonTrackingConfig config, Consumer<List<T>> emitter, Executor flushExecutor,
+      Runnable onDropped) {
+    this.batchSize = Math.max(1, config.getBatchSize());
+    this.events = new ArrayBlockingQueue<>(Math.max(1, config.getCapacity()));
+    this.emitter = emitter;
+    this.flushExecutor = flushExecutor;
+    this.onDropped = onDropped;
+  }
+
+  void offer(T event) {
+    if (shutdown || !events.offer(event)) {
+      onDropped.run();
+      return;
+    }
+    if (events.size() >= batchSize) {
+      scheduleFlush();
+    }
+  }
+
+  /**
+   * Emit every waiting event, in batches of at most batchSize. Meant to be called periodically, off the request path.
+   * @return the number of events emitted
+   */
+  int flush() {
+    int emitted = 0;
+    List<T> batch = new ArrayList<>(batchSize);
+    while (events.drainTo(batch, batchSize) > 0) {
+      try {
+        emitter.accept(batch);
+      } catch (RuntimeException e) {
+        LOG.warn("Not able to emit {} Chameleon tracking events", batch.size(), e);
+      }
+      emitted += batch.size();
+      batch = new ArrayList<>(batchSize);
+    }
+    return emitted;
+  }
+
+  /**
+   * Stop accepting events and emit the waiting ones on the calling thread
+   * @return the number of events emitted
+   */
+  int shutdown() {
+    shutdown = true;
+    return flush();
+  }
+
+  int size() {
+    return events.size();
+  }
+
+  private void scheduleFlush() {
+    if (!flushScheduled.compareAndSet(false, true)) {
+      // A flush is already pending, it drains this batch too
+      return;
+    }
+    try {
+      flushExecutor.execute(() -> {
+        try {
+          flush();
+        } finally {
+          flushScheduled.set(false);
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      // The events stay queued for the next periodic flush
+      flushScheduled.set(false);
+    }
+  }
+}
@@ -0,0 +1,100 @@
+package com.linkedin.voyager.growth.launchpad.dash.impl.services;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.linkedin.voyager.common.test.helpers.test.VoyagerAsyncTaskUnitTest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.testng.annotations.Test;
+
+
+/**
+ * Unit test for {@link ChameleonTrackingQueue}.
+ * */
+public class ChameleonTrackingQueueTest extends VoyagerAsyncTaskUnitTest {
+  private static final ChameleonTrackingConfig CONFIG = ChameleonTrackingConfig.builder()
+      .capacity(4)
+      .batchSize(2)
+      .build();
+  private static final Executor NEVER_RUNS = runnable -> { };
+
+  @Test(description = "Test events are not emitted on the offering thread until a batch is full")
+  public void testFullBatchIsFlushed() {
+    List<List<String>> batches = new ArrayList<>();
+    ChameleonTrackingQueue<String> queue =
+        new ChameleonTrackingQueue<>(CONFIG, batches::add, MoreExecutors.directExecutor(), () -> { });
+
+    queue.offer("first");
+    assertThat(batches).isEmpty();
+    queue.offer("second");
+
+    assertThat(batches).containsExactly(ImmutableList.of("first", "second"));
+    assertThat(queue.size()).isEqualTo(0);
+  }
+
+  @Test(description = "Test events are dropped and counted once the queue is full")
+  public void testEventsDroppedWhenFull() {
+    AtomicInteger dropped = new AtomicInteger();
+    ChameleonTrackingQueue<String> queue =
+        new ChameleonTrackingQueue<>(CONFIG, batch -> { }, NEVER_RUNS, dropped::incrementAndGet);
+
+    for (int i = 0; i < 6; i++) {
+      queue.offer("event" + i);
+    }
+
+    assertThat(queue.size()).isEqualTo(4);
+    assertThat(dropped.get()).isEqualTo(2);
+  }
+
+  @Test(description = "Test the periodic flush emits the waiting events in batches")
+  public void testFlushEmitsInBatches() {
+    List<List<String>> batches = new ArrayList<>();
+    ChameleonTrackingQueue<String> queue = new ChameleonTrackingQueue<>(CONFIG, batches::add, runnable -> {
+      throw new RejectedExecutionException();
+    }, () -> { });
+    queue.offer("first");
+    queue.offer("second");
+    queue.offer("third");
+
+    int emitted = queue.flush();
+
+    assertThat(emitted).isEqualTo(3);
+    assertThat(batches).containsExactly(ImmutableList.of("first", "second"), ImmutableList.of("third"));
+  }
+
+  @Test(description = "Test a failing emitter does not stop the flush")
+  public void testFlushContinuesAfterFailure() {
+    AtomicInteger attempts = new AtomicInteger();
+    ChameleonTrackingQueue<String> queue = new ChameleonTrackingQueue<>(CONFIG, batch -> {
+      attempts.incrementAndGet();
+      throw new IllegalStateException("tracking is down");
+    }, NEVER_RUNS, () -> { });
+    queue.offer("first");
+    queue.offer("second");
+    queue.offer("third");
+
+    queue.flush();
+
+    assertThat(attempts.get()).isEqualTo(2);
+    assertThat(queue.size()).isEqualTo(0);
+  }
+
+  @Test(description = "Test shutdown drains the waiting events and drops later ones")
+  public void testShutdownDrains() {
+    List<List<String>> batches = new ArrayList<>();
+    AtomicInteger dropped = new AtomicInteger();
+    ChameleonTrackingQueue<String> queue =
+        new ChameleonTrackingQueue<>(CONFIG, batches::add, NEVER_RUNS, dropped::incrementAndGet);
+    queue.offer("first");
+
+    int emitted = queue.shutdown();
+    queue.offer("second");
+
+    assertThat(emitted).isEqualTo(1);
+    assertThat(batches).containsExactly(ImmutableList.of("first"));
+    assertThat(dropped.get()).isEqualTo(1);
+  }
+}
@@ -1,11 +1,15 @@
 package com.linkedin.voyager.growth.launchpad.dash.impl.services;
 
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.linkedin.chameleon.client.api.ConfigPipelineMgr;
-import com.linkedin.chameleon.client.impl.ConfigTargetingInfo;
+import com.linkedin.chameleon.client.impl.pipelines.ContentKey;
 import com.linkedin.chameleon.client.impl.pipelines.genericpipeline.ChameleonConfig;
-import com.linkedin.chameleon.client.impl.pipelines.genericpipeline.ChameleonPayloadObject;
 import com.linkedin.common.urn.Urn;
+import com.linkedin.parseq.Task;
 import com.linkedin.pemberly.api.server.context.CurrentRequestService;
 import com.linkedin.pemberly.api.server.context.RequestLocaleService;
 import com.linkedin.voyager.common.core.api.helpers.UrnHelpers;
@@ -14,17 +18,31 @@ import com.linkedin.voyager.common.core.api.services.VoyagerLixServiceSync;
 import com.linkedin.voyager.common.dash.api.infra.helpers.RenderModelBuilderFactory;
 import com.linkedin.voyager.dash.common.SystemImageName;
 import com.linkedin.voyager.growth.launchpad.dash.impl.helpers.groups.GroupTrendingHashtagChameleonConfig;
+import com.linkedin.voyager.growth.launchpad.dash.impl.monitoring.AggregatingGroupTrendingHashtagChameleonServiceCounterSensor;
+import com.linkedin.voyager.growth.launchpad.dash.impl.monitoring.ChameleonLatencySensor;
+import com.linkedin.voyager.growth.launchpad.dash.impl.monitoring.ChameleonServiceCounterSensor;
 import com.linkedin.voyager.growth.launchpad.dash.impl.monitoring.GroupTrendingHashtagChameleonServiceCounterSensor;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.stream.Collectors;
-import org.apache.commons.lang3.EnumUtils;
-import org.jetbrains.annotations.Nullable;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import javax.annotation.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -41,62 +59,423 @@ public class GroupTrendingHashtagChameleonService extends ChameleonService {
 
   private final RenderModelBuilderFactory renderModelBuilderFactory;
   private final GroupTrendingHashtagChameleonServiceCounterSensor groupTrendingHashtagChameleonServiceCounterSensor;
+  // Set if the sensor aggregates, it then counts group IDs as numbers and is closed with the service
+  @Nullable
+  private final AggregatingGroupTrendingHashtagChameleonServiceCounterSensor aggregatingCounterSensor;
   private final VoyagerLixServiceSync lixServiceSync;
+  private final RequestScopedCache<RequestKey, RequestConfigs> requestScopedConfigs;
+  private final ChameleonConfigCache<ConfigCacheKey, GroupConfigs> configCache;
+  // Decoded configs by payload and locale. They depend on neither the group nor the member, so they are shared
+  // between every group and member served the same payload, including members of targeted configs.
+  @Nullable
+  private final Cache<PayloadKey, List<GroupTrendingHashtagChameleonConfig>> payloadCache;
+  private volatile boolean warmedUp = true;
+  @Nullable
+  private volatile Thread warmUpThread;
 
-  // TODO SEG-16762 Replace LaunchpadCardsGroupConfigFallback with GroupTrendingHashtagChameleonConfigFallback
   public GroupTrendingHashtagChameleonService(ConfigPipelineMgr configPipelineManager, CurrentRequestService currentRequestService,
       VoyagerLixServiceSync lixServiceSync, RequestLocaleService requestLocaleService,
       VoyagerMemberFinder voyagerMemberFinder,
       GroupTrendingHashtagChameleonServiceCounterSensor groupTrendingHashtagChameleonServiceCounterSensor,
       RenderModelBuilderFactory renderModelBuilderFactory) {
-    super(configPipelineManager, currentRequestService, requestLocaleService, voyagerMemberFinder, groupTrendingHashtagChameleonServiceCounterSensor);
+    this(configPipelineManager, currentRequestService, lixServiceSync, requestLocaleService, voyagerMemberFinder,
+        groupTrendingHashtagChameleonServiceCounterSensor, renderModelBuilderFactory, ChameleonServiceConfig.DEFAULT,
+        ChameleonCacheConfig.DISABLED, MoreExecutors.directExecutor());
+  }
+
+  // TODO SEG-16762 Replace LaunchpadCardsGroupConfigFallback with GroupTrendingHashtagChameleonConfigFallback
+  public GroupTrendingHashtagChameleonService(ConfigPipelineMgr configPipelineManager, CurrentRequestService currentRequestService,
+      VoyagerLixServiceSync lixServiceSync, RequestLocaleService requestLocaleService,
+      VoyagerMemberFinder voyagerMemberFinder,
+      GroupTrendingHashtagChameleonServiceCounterSensor groupTrendingHashtagChameleonServiceCounterSensor,
+      RenderModelBuilderFactory renderModelBuilderFactory, ChameleonServiceConfig serviceConfig,
+      ChameleonCacheConfig cacheConfig, Executor refreshExecutor) {
+    super(configPipelineManager, currentRequestService, requestLocaleService, voyagerMemberFinder,
+        groupTrendingHashtagChameleonServiceCounterSensor, serviceConfig);
     this.lixServiceSync = lixServiceSync;
     this.groupTrendingHashtagChameleonServiceCounterSensor = groupTrendingHashtagChameleonServiceCounterSensor;
+    this.aggregatingCounterSensor = asAggregating(groupTrendingHashtagChameleonServiceCounterSensor);
     this.renderModelBuilderFactory = renderModelBuilderFactory;
+    this.requestScopedConfigs = new RequestScopedCache<>(currentRequestService);
+    this.configCache = new ChameleonConfigCache<>(cacheConfig, groupConfigs -> groupConfigs.configs.isEmpty(),
+        this::refreshGroupConfigs, refreshExecutor);
+    ownExecutor(refreshExecutor);
+    this.payloadCache = cacheConfig.isEnabled()
+        ? CacheBuilder.newBuilder()
+            .maximumSize(cacheConfig.getMaxSize())
+            .expireAfterWrite(cacheConfig.getTtl().toMillis(), TimeUnit.MILLISECONDS)
+            .build()
+        : null;
+    if (cacheConfig.isEnabled()) {
+      scheduleWithFixedDelay("hotRefresh", this::refreshHotGroupTrendingHashtags, cacheConfig.getHotRefreshInterval());
+    }
   }
 
   public String getName() {
     return NAME;
   }
 
+  @Nullable
+  private static AggregatingGroupTrendingHashtagChameleonServiceCounterSensor asAggregating(
+      GroupTrendingHashtagChameleonServiceCounterSensor sensor) {
+    return sensor instanceof AggregatingGroupTrendingHashtagChameleonServiceCounterSensor
+        ? (AggregatingGroupTrendingHashtagChameleonServiceCounterSensor) sensor
+        : null;
+  }
+
   private Optional<Urn> getGroupTrendingHashtagConfigTypeUrn() {
     return Optional.of(UrnHelpers.createFromString(GROUP_TRENDING_HASHTAG_CONFIG_TYPE_URN));
   }
 
   /**
-   * Fetch Chameleon config as the List of GroupTrendingHashtagChameleonConfig
+   * Fetch Chameleon config as the List of GroupTrendingHashtagChameleonConfig.
+   * The result is memoized for the current request, so every card formatted for the same group
+   * within one launchpad render shares a single Chameleon fetch. Across requests, non-preview results
+   * are shared per group and locale through the process-wide config cache, or per member if Chameleon targets them.
+   * If the request budget runs out first, the cached config is served if any, otherwise none.
+   * Tracking is fired for the config actually served to the request, whether it comes from the cache, the load or the
+   * fallback, and never by a load the request stopped waiting for.
    * @param groupId - groupId to fetch the corresponding GroupTrendingHashtag config
    * @return GroupTrendingHashtagChameleonConfig
    */
   public List<GroupTrendingHashtagChameleonConfig> fetchGroupTrendingHashtags(Long groupId) {
+    ChameleonDeadline deadline = getRequestDeadline();
+    RequestKey requestKey = newRequestKey(groupId);
+    RequestConfigs requestConfigs = requestScopedConfigs.computeIfAbsent(requestKey, this::loadAsync);
+    return requestConfigs.serve(awaitWithinBudget(requestConfigs.loaded, deadline, () -> getFallback(requestKey),
+        GroupTrendingHashtagChameleonServiceCounterSensor.CHAMELEON_GROUP_ID_TYPE, String.valueOf(groupId)));
+  }
+
+  /**
+   * Async variant of {@link #fetchGroupTrendingHashtags(Long)}. Cache hits complete immediately, misses are loaded
+   * on the Chameleon executor so the calling ParSeq thread is never blocked on Chameleon.
+   * @param groupId - groupId to fetch the corresponding GroupTrendingHashtag config
+   * @return a task of GroupTrendingHashtagChameleonConfig
+   */
+  public Task<List<GroupTrendingHashtagChameleonConfig>> fetchGroupTrendingHashtagsAsync(Long groupId) {
+    // Resolve the request scoped state now, the task itself runs on a ParSeq thread
+    ChameleonDeadline deadline = getRequestDeadline();
+    RequestKey requestKey = newRequestKey(groupId);
+    RequestConfigs requestConfigs = requestScopedConfigs.computeIfAbsent(requestKey, this::loadAsync);
+    Task<GroupConfigs> task = Task.fromCompletionStage("fetchGroupTrendingHashtags", () -> requestConfigs.loaded);
+    if (requestConfigs.loaded.isDone() || !deadline.isBounded()) {
+      return task.map("serveGroupTrendingHashtags", requestConfigs::serve);
+    }
+    String groupIdDimension = String.valueOf(groupId);
+    if (isBudgetNearlySpent(deadline)) {
+      return Task.value("fetchGroupTrendingHashtagsFallback", requestConfigs.serve(onBudgetExceeded(
+          () -> getFallback(requestKey), GroupTrendingHashtagChameleonServiceCounterSensor.CHAMELEON_GROUP_ID_TYPE,
+          groupIdDimension)));
+    }
+    return task.withTimeout(deadline.remainingMillis(), TimeUnit.MILLISECONDS)
+        .recover("fetchGroupTrendingHashtagsFallback", e -> {
+          // Only the exceeded budget is served the fallback, like in the sync fetch
+          if (!(e instanceof TimeoutException)) {
+            throw new ChameleonFetchException("Chameleon call failed in a service " + getName(), e);
+          }
+          return onBudgetExceeded(() -> getFallback(requestKey),
+              GroupTrendingHashtagChameleonServiceCounterSensor.CHAMELEON_GROUP_ID_TYPE, groupIdDimension);
+        })
+        .map("serveGroupTrendingHashtags", requestConfigs::serve);
+  }
+
+  /**
+   * What to serve when the config of a group could not be loaded in time: the last known good config, if any.
+   * Its tracking is fired like for any served config, the load still running fires none.
+   */
+  private GroupConfigs getFallback(RequestKey requestKey) {
+    if (requestKey.requestContext.isPreview()) {
+      return GroupConfigs.EMPTY;
+    }
+    Optional<GroupConfigs> groupConfigs = configCache.getLastKnownGood(requestKey.toConfigCacheKey());
+    if (groupConfigs.isPresent() && !groupConfigs.get().isServableTo(requestKey.requestContext.getMemberUrn())) {
+      groupConfigs = configCache.getLastKnownGood(requestKey.toTargetedConfigCacheKey());
+    }
+    return groupConfigs.orElse(GroupConfigs.EMPTY);
+  }
+
+  private RequestKey newRequestKey(Long groupId) {
+    return new RequestKey(groupId, getRequestContext());
+  }
+
+  /**
+   * Configs targeted by Chameleon are cached per group like the others, but only to remember that they are targeted:
+   * every other member gets its own entry, keyed by member, holding the variant Chameleon selected for it. Only the
+   * decoding and the prompt resolution of the variants are shared, through the payload cache.
+   */
+  private GroupConfigs getOrLoad(RequestKey requestKey) {
+    Supplier<GroupConfigs> loader = newLoader(requestKey);
+    try {
+      if (requestKey.requestContext.isPreview()) {
+        // Preview configs must never be served to regular traffic
+        return loader.get();
+      }
+      // Groups without a config are cached as an empty list, for the shorter negative TTL
+      GroupConfigs groupConfigs = configCache.get(requestKey.toConfigCacheKey(), loader);
+      if (groupConfigs.isServableTo(requestKey.requestContext.getMemberUrn())) {
+        return groupConfigs;
+      }
+      return configCache.get(requestKey.toTargetedConfigCacheKey(), () -> {
+        chameleonServiceCounterSensor.increment(ChameleonServiceCounterSensor.Attribute.CHAMELEON_TARGETED_CONFIG_LOAD,
+            GroupTrendingHashtagChameleonServiceCounterSensor.CHAMELEON_GROUP_ID_TYPE,
+            String.valueOf(requestKey.groupId), GROUP_TRENDING_HASHTAG_CONFIG_HASHTAG_CARDS);
+        return loader.get();
+      });
+    } catch (RuntimeException e) {
+      // Already logged and counted by the loader. Failures are never cached, so the next request tries again.
+      return GroupConfigs.EMPTY;
+    }
+  }
+
+  /**
+   * Get the configs of a request from the cache, or start loading them. Nothing is tracked here, the load may
+   * complete after the request stopped waiting for it.
+   */
+  private RequestConfigs loadAsync(RequestKey requestKey) {
+    if (!requestKey.requestContext.isPreview()) {
+      Optional<GroupConfigs> cachedConfigs = getCachedConfigs(requestKey);
+      if (cachedConfigs.isPresent()) {
+        return new RequestConfigs(CompletableFuture.completedFuture(cachedConfigs.get()));
+      }
+    }
+    // Preview loads rejected by a saturated preview lane are served like any failed load
+    return new RequestConfigs(supplyAsync(requestKey.requestContext, () -> getOrLoad(requestKey))
+        .exceptionally(e -> GroupConfigs.EMPTY));
+  }
+
+  private Optional<GroupConfigs> getCachedConfigs(RequestKey requestKey) {
+    Optional<GroupConfigs> cachedConfigs = configCache.getIfPresent(requestKey.toConfigCacheKey());
+    if (cachedConfigs.isPresent() && !cachedConfigs.get().isServableTo(requestKey.requestContext.getMemberUrn())) {
+      return configCache.getIfPresent(requestKey.toTargetedConfigCacheKey());
+    }
+    return cachedConfigs;
+  }
+
+  /**
+   * The loader may run on a background thread, so it only depends on the request state captured in the key
+   */
+  private Supplier<GroupConfigs> newLoader(RequestKey requestKey) {
+    return () -> loadGroupConfigs(requestKey.groupId, requestKey.requestContext);
+  }
+
+  /**
+   * Reload a cached config outside of any request, without tracking it. The variants of targeted configs belong to a
+   * single member, so they are left to expire instead, and so are the group entries of targeted configs: reloaded for
+   * no member, they would hold a variant targeted to the background member. The next request reloads them for its
+   * member.
+   */
+  @Nullable
+  private GroupConfigs refreshGroupConfigs(ConfigCacheKey key) {
+    if (key.memberUrn != null || configCache.getLastKnownGood(key).map(GroupConfigs::isTargeted).orElse(false)) {
+      return null;
+    }
+    GroupConfigs groupConfigs = loadGroupConfigs(key.groupId, ChameleonRequestContext.background(key.locale));
+    // A config that became targeted since it was cached
+    return groupConfigs.isTargeted() ? null : groupConfigs;
+  }
+
+  /**
+   * Start warming up the config cache on a thread of its own, see
+   * {@link #warmUpGroupTrendingHashtags(Collection, Collection, int, Duration)}. Meant for the startup hook of the
+   * instance: it does not block, and {@link #isWarmedUp()} is false until the warm-up completes, so a readiness
+   * check can hold traffic back until then. The warm-up waits up to its time cap, so it does not run on the scheduler
+   * of the service, where it would hold back the periodic work and the hedge timers.
+   */
+  public void startWarmUp(Collection<Long> groupIds, Collection<Locale> locales, int maxConcurrency,
+      Duration timeCap) {
+    warmedUp = false;
+    Thread thread = new Thread(() -> {
+      try {
+        warmUpGroupTrendingHashtags(groupIds, locales, maxConcurrency, timeCap);
+      } catch (RuntimeException e) {
+        LOG.warn("Group trending hashtag warm-up failed", e);
+      } finally {
+        warmedUp = true;
+      }
+    }, "group-trending-hashtag-chameleon-warm-up");
+    thread.setDaemon(true);
+    warmUpThread = thread;
+    thread.start();
+  }
+
+  /**
+   * @return false while a warm-up started with {@link #startWarmUp} is running, e.g. for a readiness check
+   */
+  public boolean isWarmedUp() {
+    return warmedUp;
+  }
+
+  /**
+   * Stop a warm-up still running, then close the service. An aggregating counter sensor is closed last, so it flushes
+   * the counts of the loads that completed during the shutdown.
+   */
+  @Override
+  public void close() {
+    Thread thread = warmUpThread;
+    if (thread != null) {
+      thread.interrupt();
+    }
+    super.close();
+    if (aggregatingCounterSensor != null) {
+      aggregatingCounterSensor.close();
+    }
+  }
+
+  /**
+   * Load the configs of the given groups into the config cache ahead of traffic, e.g. at startup before the
+   * instance reports healthy. Loads run on the Chameleon executor, outside of any request: they are made for no
+   * member and fire no tracking. Loads still running when the time cap is reached keep filling the cache in the
+   * background.
+   * @param groupIds - groups to load, for every locale
+   * @param maxConcurrency - maximum number of loads in flight
+   * @param timeCap - how long to wait for the loads at most
+   * @return the number of configs loaded within the time cap, groups without a config excluded
+   */
+  public int warmUpGroupTrendingHashtags(Collection<Long> groupIds, Collection<Locale> locales, int maxConcurrency,
+      Duration timeCap) {
+    if (!configCache.isEnabled()) {
+      return 0;
+    }
+    List<RequestKey> requestKeys = new ArrayList<>();
+    for (Locale locale : locales) {
+      ChameleonRequestContext requestContext = ChameleonRequestContext.background(locale);
+      for (Long groupId : new LinkedHashSet<>(groupIds)) {
+        requestKeys.add(new RequestKey(groupId, requestContext));
+      }
+    }
+    long deadlineNanos = System.nanoTime() + timeCap.toNanos();
+    Semaphore permits = new Semaphore(maxConcurrency);
+    AtomicInteger loaded = new AtomicInteger();
+    try {
+      for (RequestKey requestKey : requestKeys) {
+        if (!permits.tryAcquire(deadlineNanos - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+          break;
+        }
+        supplyAsync(requestKey.requestContext, () -> getOrLoad(requestKey)).whenComplete((groupConfigs, e) -> {
+          if (groupConfigs != null && !groupConfigs.configs.isEmpty()) {
+            loaded.incrementAndGet();
+          }
+          permits.release();
+        });
+      }
+      // Wait for the loads still in flight
+      if (permits.tryAcquire(maxConcurrency, deadlineNanos - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+        permits.release(maxConcurrency);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    LOG.info("Warmed up {} group trending hashtag configs out of {}", loaded.get(), requestKeys.size());
+    return loaded.get();
+  }
+
+  /**
+   * @return the groups with a config in the config cache, e.g. to persist them for the next warm-up
+   */
+  public Set<Long> getCachedGroupIds() {
+    Set<Long> groupIds = new LinkedHashSet<>();
+    for (ConfigCacheKey key : configCache.getPositiveKeys()) {
+      if (key.memberUrn == null) {
+        groupIds.add(key.groupId);
+      }
+    }
+    return groupIds;
+  }
+
+  /**
+   * Drop the cached config of a group, including the variants cached per member, e.g. after it was edited in Chameleon
+   */
+  public void invalidateGroupTrendingHashtags(Long groupId, Locale locale) {
+    configCache.invalidateIf(key -> key.groupId.equals(groupId) && key.locale.equals(locale));
+  }
+
+  /**
+   * Drop every cached config, e.g. from an admin endpoint or a test harness after a bulk edit in Chameleon
+   */
+  public void invalidateAllGroupTrendingHashtags() {
+    configCache.invalidateAll();
+    if (payloadCache != null) {
+      payloadCache.invalidateAll();
+    }
+  }
+
+  /**
+   * Reload the configs of hot groups in the background, so edits to them propagate within the refresh interval
+   * without any request paying for the reload. Called periodically, never throws.
+   */
+  public void refreshHotGroupTrendingHashtags() {
+    try {
+      int scheduled = configCache.refreshHotEntries();
+      LOG.debug("Scheduled the refresh of {} hot group trending hashtag configs", scheduled);
+    } catch (RuntimeException e) {
+      LOG.warn("Not able to refresh hot group trending hashtag configs", e);
+    }
+  }
+
+  @VisibleForTesting
+  List<GroupTrendingHashtagChameleonConfig> loadGroupTrendingHashtags(Long groupId,
+      ChameleonRequestContext requestContext) {
+    return loadGroupConfigs(groupId, requestContext).configs;
+  }
+
+  private GroupConfigs loadGroupConfigs(Long groupId, ChameleonRequestContext requestContext) {
+    long startNanos = System.nanoTime();
+    try {
+      return doLoadGroupConfigs(groupId, requestContext);
+    } finally {
+      latencySensor.recordSince(getName(), ChameleonLatencySensor.Stage.CONFIG_LOAD, startNanos);
+    }
+  }
+
+  /**
+   * Count against a group without turning its ID into a string, unless the sensor reports every group
+   */
+  private void incrementGroupCounter(long groupId,
+      GroupTrendingHashtagChameleonServiceCounterSensor.Attribute attribute) {
+    if (aggregatingCounterSensor != null) {
+      aggregatingCounterSensor.increment(groupId, getName(), attribute);
+    } else {
+      groupTrendingHashtagChameleonServiceCounterSensor.increment(String.valueOf(groupId), getName(), attribute);
+    }
+  }
+
+  private GroupConfigs doLoadGroupConfigs(long groupId, ChameleonRequestContext requestContext) {
     // Create a map of input params to chameleon
     Map<String, String> configParams = new HashMap<>();
     configParams.put(PARAM_GROUP_ID, PARAM_GROUP_ID_VALUE_PREFIX + groupId);
 
     // Monitoring
-    groupTrendingHashtagChameleonServiceCounterSensor.increment(String.valueOf(groupId), getName(),
-        GroupTrendingHashtagChameleonServiceCounterSensor.Attribute.GROUP_TRENDING_HASHTAG_CHAMELEON_CONFIG_REQUEST);
+    if (!requestContext.isBackground()) {
+      incrementGroupCounter(groupId,
+          GroupTrendingHashtagChameleonServiceCounterSensor.Attribute.GROUP_TRENDING_HASHTAG_CHAMELEON_CONFIG_REQUEST);
+    }
 
-    List<ChameleonConfig> chameleonConfigs = new ArrayList<>();
+    List<ChameleonConfig> chameleonConfigs;
     try {
-      chameleonConfigs = getConfigsFromChameleon(getGroupTrendingHashtagConfigTypeUrn().get(), ImmutableMap.copyOf(configParams));
+      chameleonConfigs = getConfigsFromChameleon(getGroupTrendingHashtagConfigTypeUrn().get(), ImmutableMap.copyOf(configParams),
+          requestContext);
+    } catch (ChameleonCircuitOpenException ex) {
+      // Chameleon is failing and this was already counted, logging every rejected request would only flood the logs
+      throw ex;
     } catch (Exception ex) {
       LOG.error("Chameleon group config request throw exception for groupId: {} with exception: {} ",
           groupId, ex.getMessage());
-      groupTrendingHashtagChameleonServiceCounterSensor.increment(String.valueOf(groupId), getName(),
+      incrementGroupCounter(groupId,
           GroupTrendingHashtagChameleonServiceCounterSensor.Attribute.GROUP_TRENDING_HASHTAG_CHAMELEON_CONFIG_ERROR);
+      // Propagate instead of returning an empty list, so the failure is not cached as a missing config
+      throw new ChameleonFetchException("Chameleon group config request failed for groupId: " + groupId, ex);
     }
 
     if (chameleonConfigs.isEmpty()) {
       // TODO SEG-16762 Add GroupTrendingHashtag Fallback logic here
       LOG.warn("No chameleon configs found for groupId:" + groupId);
-      groupTrendingHashtagChameleonServiceCounterSensor.increment(String.valueOf(groupId), getName(),
+      incrementGroupCounter(groupId,
           GroupTrendingHashtagChameleonServiceCounterSensor.Attribute.GROUP_TRENDING_HASHTAG_CHAMELEON_CONFIG_NOT_FOUND);
     }
 
     if (chameleonConfigs.size() > 1) {
       LOG.warn("Multiple chameleon configs found for groupId:" + groupId + ". Only 1st config will be used.");
-      groupTrendingHashtagChameleonServiceCounterSensor.increment(String.valueOf(groupId), getName(),
+      incrementGroupCounter(groupId,
           GroupTrendingHashtagChameleonServiceCounterSensor.Attribute.GROUP_TRENDING_HASHTAG_CHAMELEON_CONFIG_DUPLICATE);
     }
 
@@ -104,51 +483,235 @@ public class GroupTrendingHashtagChameleonService extends ChameleonService {
     return chameleonConfigs.stream()
         .findFirst()
         .map(chameleonConfig -> {
-          Optional<ConfigTargetingInfo> maybeTargetingInfo =
-              Optional.ofNullable(chameleonConfig.getTrackingInfo().getConfigTargetingInfo());
-          fireChameleonEvent(chameleonConfig, maybeTargetingInfo);
-          return buildGroupTrendingHashtagConfigList(chameleonConfig);
-        }).orElseGet(Collections::emptyList);
+          List<GroupTrendingHashtagChameleonConfig> configs =
+              buildGroupTrendingHashtagConfigList(chameleonConfig, requestContext);
+          // Targeted configs may select a different variant for another member
+          boolean targeted = chameleonConfig.getTrackingInfo().getConfigTargetingInfo() != null;
+          return new GroupConfigs(configs, chameleonConfig, targeted ? requestContext.getMemberUrn() : null);
+        }).orElse(GroupConfigs.EMPTY);
   }
 
-  private List<GroupTrendingHashtagChameleonConfig> buildGroupTrendingHashtagConfigList(ChameleonConfig chameleonConfig) {
-    ChameleonPayloadObject chameleonPayloadObject = new ChameleonPayloadObject(chameleonConfig);
+  private List<GroupTrendingHashtagChameleonConfig> buildGroupTrendingHashtagConfigList(ChameleonConfig chameleonConfig,
+      ChameleonRequestContext requestContext) {
+    long startNanos = System.nanoTime();
     String key = GROUP_TRENDING_HASHTAG_CONFIG_HASHTAG_CARDS;
+    GroupTrendingHashtagPayload payload = GroupTrendingHashtagPayload.decode(chameleonConfig, (field, e) -> {
+      LOG.warn("Not able to resolve plain string for field " + field + " in config " + chameleonConfig
+          + "in a service " + getName(), e);
+      chameleonServiceCounterSensor.increment(ChameleonServiceCounterSensor.Attribute.CHAMELEON_STRING_RESOLVE_FAILED,
+          GroupTrendingHashtagChameleonServiceCounterSensor.CHAMELEON_GROUP_ID_TYPE, key, field);
+    });
+    PayloadKey payloadKey = new PayloadKey(payload, requestContext.getLocale());
+    List<GroupTrendingHashtagChameleonConfig> cachedConfigs = getCachedConfigs(payloadKey, requestContext);
+    if (cachedConfigs != null) {
+      latencySensor.recordSince(getName(), ChameleonLatencySensor.Stage.CONFIG_BUILD, startNanos);
+      return cachedConfigs;
+    }
 
-    return chameleonPayloadObject.getChameleonPayloadObjectList(Collections.singletonList(key)).stream()
-        .map(payloadObject -> buildGroupTrendingHashtagConfig(chameleonConfig, key, payloadObject))
-        .filter(Objects::nonNull).collect(Collectors.toList());
+    // Resolve the prompts of all the cards in one batch, so a config costs one content round trip instead of one per card
+    Map<Urn, ContentKey> promptKeys = new HashMap<>();
+    for (int i = 0; i < payload.size(); i++) {
+      Urn promptUrn = payload.getPromptUrn(i);
+      if (promptUrn != null) {
+        promptKeys.computeIfAbsent(promptUrn, urn -> new ContentKey(urn, requestContext.getChameleonLocale()));
+      }
+    }
+    Map<ContentKey, String> resolvedPrompts = getI18NStringContents(chameleonConfig, promptKeys.values(),
+        GROUP_TRENDING_HASHTAG_CONFIG_PROMPT, GroupTrendingHashtagChameleonServiceCounterSensor.CHAMELEON_GROUP_ID_TYPE,
+        key, requestContext);
+    Map<Urn, String> prompts = new HashMap<>();
+    promptKeys.forEach((promptUrn, promptKey) -> {
+      String prompt = resolvedPrompts.get(promptKey);
+      if (prompt != null) {
+        prompts.put(promptUrn, prompt);
+      }
+    });
+
+    List<GroupTrendingHashtagChameleonConfig> configs = payload.toConfigList(prompts);
+    // Configs missing a prompt that failed to resolve are not shared, the next load tries to resolve it again
+    if (payloadCache != null && !requestContext.isPreview() && prompts.size() == promptKeys.size()) {
+      payloadCache.put(payloadKey, configs);
+    }
+    latencySensor.recordSince(getName(), ChameleonLatencySensor.Stage.CONFIG_BUILD, startNanos);
+    return configs;
   }
 
   @Nullable
-  private GroupTrendingHashtagChameleonConfig buildGroupTrendingHashtagConfig(
-      ChameleonConfig chameleonConfig,
-      String key,
-      ChameleonPayloadObject chameleonPayloadObject) {
-    GroupTrendingHashtagChameleonConfig config = new GroupTrendingHashtagChameleonConfig();
-    try {
-      getPlainString(chameleonConfig, GROUP_TRENDING_HASHTAG_CONFIG_HASHTAG, chameleonPayloadObject,
-          GroupTrendingHashtagChameleonServiceCounterSensor.CHAMELEON_GROUP_ID_TYPE, key)
-          .ifPresent(config::setHashtag);
-      getI18NStringContent(chameleonConfig, GROUP_TRENDING_HASHTAG_CONFIG_PROMPT, chameleonPayloadObject,
-          GroupTrendingHashtagChameleonServiceCounterSensor.CHAMELEON_GROUP_ID_TYPE, key)
-          .ifPresent(config::setPrompt);
-      getPlainStringContent(chameleonConfig, GROUP_TRENDING_HASHTAG_CONFIG_CTA, chameleonPayloadObject,
-          GroupTrendingHashtagChameleonServiceCounterSensor.CHAMELEON_GROUP_ID_TYPE, key)
-          .ifPresent(ctaValueInput -> {
-            config.setCta(ctaValueInput);
-          });
-      getPlainStringContent(chameleonConfig, GROUP_TRENDING_HASHTAG_CONFIG_CARD_IMAGE, chameleonPayloadObject,
-          GroupTrendingHashtagChameleonServiceCounterSensor.CHAMELEON_GROUP_ID_TYPE, key)
-          .ifPresent(systemImageNameValueInput -> {
-            SystemImageName systemImageName = EnumUtils.getEnumIgnoreCase(
-                SystemImageName.class, systemImageNameValueInput, DEFAULT_SYSTEM_IMAGE);
-            config.setCardImage(systemImageName);
-          });
-      return config;
-    } catch (Exception e) {
-      LOG.error("Not able to get GroupTrendingHashtag config for cardKey {}: , with exception {}", key, e);
-    }
-    return config;
-  }
-}
\ No newline at end of file
+  private List<GroupTrendingHashtagChameleonConfig> getCachedConfigs(PayloadKey payloadKey,
+      ChameleonRequestContext requestContext) {
+    if (payloadCache == null || requestContext.isPreview()) {
+      return null;
+    }
+    List<GroupTrendingHashtagChameleonConfig> configs = payloadCache.getIfPresent(payloadKey);
+    chameleonServiceCounterSensor.increment(configs != null
+            ? ChameleonServiceCounterSensor.Attribute.CHAMELEON_PAYLOAD_CACHE_HIT
+            : ChameleonServiceCounterSensor.Attribute.CHAMELEON_PAYLOAD_CACHE_MISS,
+        SERVICE_KEY_TYPE, getName(), GROUP_TRENDING_HASHTAG_CONFIG_HASHTAG_CARDS);
+    return configs;
+  }
+
+  /**
+   * Identifies a group trending hashtag fetch within a request
+   */
+  private static final class RequestKey {
+    private final Long groupId;
+    private final ChameleonRequestContext requestContext;
+
+    private RequestKey(Long groupId, ChameleonRequestContext requestContext) {
+      this.groupId = groupId;
+      this.requestContext = requestContext;
+    }
+
+    private ConfigCacheKey toConfigCacheKey() {
+      return new ConfigCacheKey(groupId, requestContext.getLocale(), null);
+    }
+
+    private ConfigCacheKey toTargetedConfigCacheKey() {
+      return new ConfigCacheKey(groupId, requestContext.getLocale(), requestContext.getMemberUrn());
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      RequestKey that = (RequestKey) o;
+      return Objects.equals(groupId, that.groupId)
+          && Objects.equals(requestContext.getMemberUrn(), that.requestContext.getMemberUrn())
+          && Objects.equals(requestContext.getLocale(), that.requestContext.getLocale())
+          && Objects.equals(requestContext.getPreviewHeader(), that.requestContext.getPreviewHeader());
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(groupId, requestContext.getMemberUrn(), requestContext.getLocale(),
+          requestContext.getPreviewHeader());
+    }
+  }
+
+  /**
+   * The configs loaded for a group. Configs targeted by Chameleon, e.g. through a lix, may select another variant
+   * for another member, so they are only served to the member they were loaded for.
+   */
+  private static final class GroupConfigs {
+    private static final GroupConfigs EMPTY = new GroupConfigs(Collections.emptyList(), null, null);
+
+    private final List<GroupTrendingHashtagChameleonConfig> configs;
+    // The config the configs were built from, its tracking is fired every time they are served
+    @Nullable
+    private final ChameleonConfig chameleonConfig;
+    // The member a targeted config was loaded for, null if the config is the same for every member
+    @Nullable
+    private final Urn targetedMemberUrn;
+
+    private GroupConfigs(List<GroupTrendingHashtagChameleonConfig> configs, @Nullable ChameleonConfig chameleonConfig,
+        @Nullable Urn targetedMemberUrn) {
+      this.configs = configs;
+      this.chameleonConfig = chameleonConfig;
+      this.targetedMemberUrn = targetedMemberUrn;
+    }
+
+    private boolean isServableTo(Urn memberUrn) {
+      return targetedMemberUrn == null || targetedMemberUrn.equals(memberUrn);
+    }
+
+    private boolean isTargeted() {
+      return targetedMemberUrn != null;
+    }
+  }
+
+  /**
+   * The configs of a group within one request. Every fetch of the request shares the same load, and the tracking of a
+   * config is fired once, when it is first served to the request.
+   */
+  private final class RequestConfigs {
+    private final CompletableFuture<GroupConfigs> loaded;
+    private final AtomicReference<ChameleonConfig> lastServedConfig = new AtomicReference<>();
+
+    private RequestConfigs(CompletableFuture<GroupConfigs> loaded) {
+      this.loaded = loaded;
+    }
+
+    private List<GroupTrendingHashtagChameleonConfig> serve(GroupConfigs groupConfigs) {
+      ChameleonConfig chameleonConfig = groupConfigs.chameleonConfig;
+      if (chameleonConfig != null && lastServedConfig.getAndSet(chameleonConfig) != chameleonConfig) {
+        fireChameleonEvent(chameleonConfig,
+            Optional.ofNullable(chameleonConfig.getTrackingInfo().getConfigTargetingInfo()));
+      }
+      return groupConfigs.configs;
+    }
+  }
+
+  /**
+   * Identifies decoded configs in the payload cache
+   */
+  private static final class PayloadKey {
+    private final GroupTrendingHashtagPayload payload;
+    private final Locale locale;
+
+    private PayloadKey(GroupTrendingHashtagPayload payload, Locale locale) {
+      this.payload = payload;
+      this.locale = locale;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      PayloadKey that = (PayloadKey) o;
+      return Objects.equals(payload, that.payload) && Objects.equals(locale, that.locale);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(payload, locale);
+    }
+  }
+
+  /**
+   * Identifies a group trending hashtag config in the process-wide cache
+   */
+  private static final class ConfigCacheKey {
+    private final Long groupId;
+    private final Locale locale;
+    // Set for the variants of a targeted config, cached per member
+    @Nullable
+    private final Urn memberUrn;
+
+    private ConfigCacheKey(Long groupId, Locale locale, @Nullable Urn memberUrn) {
+      this.groupId = groupId;
+      this.locale = locale;
+      this.memberUrn = memberUrn;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      ConfigCacheKey that = (ConfigCacheKey) o;
+      return Objects.equals(groupId, that.groupId) && Objects.equals(locale, that.locale)
+          && Objects.equals(memberUrn, that.memberUrn);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(groupId, locale, memberUrn);
+    }
+
+    @Override
+    public String toString() {
+      return memberUrn != null ? groupId + ":" + locale + ":" + memberUrn : groupId + ":" + locale;
+    }
+  }
+}
@@ -2,12 +2,16 @@ package com.linkedin.voyager.growth.launchpad.dash.impl.services;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.Uninterruptibles;
 import com.linkedin.chameleon.client.api.ConfigPipelineMgr;
+import com.linkedin.chameleon.client.impl.ConfigTargetingInfo;
 import com.linkedin.chameleon.client.impl.pipelines.ConfigQuery;
 import com.linkedin.chameleon.client.impl.pipelines.ContentKey;
 import com.linkedin.chameleon.client.impl.pipelines.genericpipeline.ChameleonConfig;
 import com.linkedin.common.urn.MemberUrn;
 import com.linkedin.common.urn.Urn;
+import com.linkedin.featurecustomization.CustomizationConfigMetadata;
 import com.linkedin.learning.common.helpers.LocaleHelper;
 import com.linkedin.pemberly.api.server.context.CurrentRequestService;
 import com.linkedin.pemberly.api.server.context.RequestFacade;
@@ -15,16 +19,29 @@ import com.linkedin.pemberly.api.server.context.RequestLocaleService;
 import com.linkedin.voyager.dash.common.SystemImageName;
 import com.linkedin.voyager.common.core.api.helpers.VoyagerMemberFinder;
 import com.linkedin.voyager.common.core.api.services.VoyagerLixServiceSync;
+import com.linkedin.voyager.common.dash.api.infra.helpers.RenderModelBuilderFactory;
 import com.linkedin.voyager.common.test.helpers.test.VoyagerAsyncTaskUnitTest;
 import com.linkedin.voyager.growth.launchpad.dash.impl.helpers.groups.GroupTrendingHashtagChameleonConfig;
+import com.linkedin.voyager.growth.launchpad.dash.impl.monitoring.AggregatingGroupTrendingHashtagChameleonServiceCounterSensor;
+import com.linkedin.voyager.growth.launchpad.dash.impl.monitoring.ChameleonServiceCounterSensor;
 import com.linkedin.voyager.growth.launchpad.dash.impl.monitoring.GroupTrendingHashtagChameleonServiceCounterSensor;
 import java.io.FileNotFoundException;
 import java.io.FileReader;
 import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import org.jooq.tools.StringUtils;
 import org.json.simple.JSONObject;
 import org.json.simple.parser.JSONParser;
@@ -42,6 +59,7 @@ import static org.mockito.Mockito.*;
  * */
 public class GroupTrendingHashtagChameleonServiceTest extends VoyagerAsyncTaskUnitTest {
   private static final MemberUrn MEMBER_URN = new MemberUrn(100L);
+  private static final MemberUrn OTHER_MEMBER_URN = new MemberUrn(200L);
   private static final Locale US_LOCALE = Locale.US;
   private static final Map<String, String> CHAMELEON_REQUEST_HEADERS = ImmutableMap.of("x-li-chameleon-ec-test_id", "1");
 
@@ -49,15 +67,627 @@ public class GroupTrendingHashtagChameleonServiceTest extends VoyagerAsyncTaskUn
   public void testFetchGroupTrendingHashtags() throws Exception {
     Mocks mocks = new Mocks();
     MockData mockData = new MockData();
+    stubChameleonConfigs(mocks, mockData);
 
+    List<GroupTrendingHashtagChameleonConfig>
+        result = mocks.service.fetchGroupTrendingHashtags(mockData.groupId);
+
+    assertThat(result.get(0).getHashtag()).isEqualTo(mockData.expectedHashtag);
+    assertThat(result.get(0).getPrompt()).isEqualTo(mockData.expectedPrompt);
+    assertThat(result.get(0).getCta()).isEqualTo(mockData.expectedCta);
+    assertThat(result.get(0).getCardImage().toString()).isEqualTo(mockData.expectedCardImage.toString());
+  }
+
+  @Test(description = "Test group-trending-hashtag config is fetched once per group within a request")
+  public void testFetchGroupTrendingHashtagsMemoizedWithinRequest() throws Exception {
+    Mocks mocks = new Mocks();
+    MockData mockData = new MockData();
+    stubChameleonConfigs(mocks, mockData);
+
+    List<GroupTrendingHashtagChameleonConfig> first = mocks.service.fetchGroupTrendingHashtags(mockData.groupId);
+    List<GroupTrendingHashtagChameleonConfig> second = mocks.service.fetchGroupTrendingHashtags(mockData.groupId);
+
+    assertThat(second).isSameAs(first);
+    verify(mocks.configPipelineManager, times(1)).getConfigsSync(any(ConfigQuery.class), any(), any(), any(), any(),
+        anyBoolean());
+  }
+
+  @Test(description = "Test group-trending-hashtag config is shared across requests when the config cache is enabled")
+  public void testFetchGroupTrendingHashtagsCachedAcrossRequests() throws Exception {
+    Mocks mocks = new Mocks(ChameleonCacheConfig.builder().build());
+    MockData mockData = new MockData();
+    stubChameleonConfigs(mocks, mockData);
+
+    List<GroupTrendingHashtagChameleonConfig> first = mocks.service.fetchGroupTrendingHashtags(mockData.groupId);
+    mocks.startNewRequest(CHAMELEON_REQUEST_HEADERS);
+    List<GroupTrendingHashtagChameleonConfig> second = mocks.service.fetchGroupTrendingHashtags(mockData.groupId);
+
+    assertThat(second).isSameAs(first);
+    verify(mocks.configPipelineManager, times(1)).getConfigsSync(any(ConfigQuery.class), any(), any(), any(), any(),
+        anyBoolean());
+  }
+
+  @Test(description = "Test groups served the same payload share the decoded configs")
+  public void testFetchGroupTrendingHashtagsSharesPayloadAcrossGroups() throws Exception {
+    Mocks mocks = new Mocks(ChameleonCacheConfig.builder().build());
+    MockData mockData = new MockData();
+    MockData otherGroupMockData = new MockData();
+    otherGroupMockData.groupId = mockData.groupId + 1;
+    stubChameleonConfigs(mocks, mockData);
+    stubChameleonConfigs(mocks, otherGroupMockData);
+
+    List<GroupTrendingHashtagChameleonConfig> first = mocks.service.fetchGroupTrendingHashtags(mockData.groupId);
+    List<GroupTrendingHashtagChameleonConfig> second =
+        mocks.service.fetchGroupTrendingHashtags(otherGroupMockData.groupId);
+
+    assertThat(second).isSameAs(first);
+    verify(mocks.configPipelineManager, times(2)).getConfigsSync(any(ConfigQuery.class), any(), any(), any(), any(),
+        anyBoolean());
+  }
+
+  @Test(description = "Test preview requests bypass the config cache")
+  public void testFetchGroupTrendingHashtagsPreviewBypassesCache() throws Exception {
+    Mocks mocks = new Mocks(ChameleonCacheConfig.builder().build());
+    MockData mockData = new MockData();
+    stubChameleonConfigs(mocks, mockData);
+
+    mocks.service.fetchGroupTrendingHashtags(mockData.groupId);
+    mocks.startNewRequest(ImmutableMap.of("x-li-chameleon-mt-preview", "true"));
+    mocks.service.fetchGroupTrendingHashtags(mockData.groupId);
+
+    verify(mocks.configPipelineManager, times(2)).getConfigsSync(any(ConfigQuery.class), any(), any(), any(), any(),
+        anyBoolean());
+  }
+
+  @Test(description = "Test prompts resolved for preview requests are not shared through the i18n string cache")
+  public void testFetchGroupTrendingHashtagsPreviewBypassesI18NStringCache() throws Exception {
+    Mocks mocks = new Mocks();
+    MockData mockData = new MockData();
+    stubChameleonConfigs(mocks, mockData);
+
+    mocks.startNewRequest(ImmutableMap.of("x-li-chameleon-mt-preview", "true"));
+    mocks.service.fetchGroupTrendingHashtags(mockData.groupId);
+    mocks.startNewRequest(CHAMELEON_REQUEST_HEADERS);
+    List<GroupTrendingHashtagChameleonConfig> result = mocks.service.fetchGroupTrendingHashtags(mockData.groupId);
+
+    assertThat(result.get(0).getPrompt()).isEqualTo(mockData.expectedPrompt);
+    verify(mocks.configPipelineManager, times(2)).getContentConfigSync(any(ContentKey.class), any(Urn.class),
+        any(Optional.class), any(), any(), any(), anyBoolean());
+  }
+
+  @Test(description = "Test strings evicted from the i18n string cache are counted under their content key")
+  public void testI18NStringCacheEvictionCounted() throws Exception {
+    // Every string weighs more than the cache holds, so it is evicted as soon as it is cached
+    Mocks mocks = new Mocks(ChameleonServiceConfig.builder().contentCacheMaxWeight(1).build(),
+        ChameleonCacheConfig.DISABLED);
+    MockData mockData = new MockData();
+    stubChameleonConfigs(mocks, mockData);
+
+    mocks.service.fetchGroupTrendingHashtags(mockData.groupId);
+
+    verify(mocks.launchpadChameleonServiceCounterSensor, atLeastOnce()).increment(
+        eq(ChameleonServiceCounterSensor.Attribute.CHAMELEON_I18N_CACHE_EVICTION), eq("contentKey"), anyString(),
+        eq(""));
+  }
+
+  @Test(description = "Test preview requests are rejected, not run inline, when the preview executor is saturated")
+  public void testFetchGroupTrendingHashtagsPreviewExecutorSaturated() throws Exception {
+    Mocks mocks = new Mocks(ChameleonServiceConfig.builder()
+        .previewExecutor(runnable -> {
+          throw new RejectedExecutionException();
+        })
+        .build(), ChameleonCacheConfig.DISABLED);
+    MockData mockData = new MockData();
+    stubChameleonConfigs(mocks, mockData);
+
+    mocks.startNewRequest(ImmutableMap.of("x-li-chameleon-mt-preview", "true"));
+    List<GroupTrendingHashtagChameleonConfig> result = mocks.service.fetchGroupTrendingHashtags(mockData.groupId);
+
+    assertThat(result).isEmpty();
+    verify(mocks.configPipelineManager, never()).getConfigsSync(any(ConfigQuery.class), any(), any(), any(), any(),
+        anyBoolean());
+    verify(mocks.launchpadChameleonServiceCounterSensor).increment(
+        eq(ChameleonServiceCounterSensor.Attribute.CHAMELEON_PREVIEW_REJECTED), anyString(), anyString(), anyString());
+  }
+
+  @Test(description = "Test async fetch shares the request scoped result with the sync fetch")
+  public void testFetchGroupTrendingHashtagsAsync() throws Exception {
+    Mocks mocks = new Mocks();
+    MockData mockData = new MockData();
+    stubChameleonConfigs(mocks, mockData);
+
+    List<GroupTrendingHashtagChameleonConfig> result = await(mocks.service.fetchGroupTrendingHashtagsAsync(mockData.groupId));
+    List<GroupTrendingHashtagChameleonConfig> syncResult = mocks.service.fetchGroupTrendingHashtags(mockData.groupId);
+
+    assertThat(result.get(0).getHashtag()).isEqualTo(mockData.expectedHashtag);
+    assertThat(result.get(0).getPrompt()).isEqualTo(mockData.expectedPrompt);
+    assertThat(syncResult).isSameAs(result);
+    verify(mocks.configPipelineManager, times(1)).getConfigsSync(any(ConfigQuery.class), any(), any(), any(), any(),
+        anyBoolean());
+  }
+
+  @Test(description = "Test resolved prompts are shared across groups through the i18n string cache")
+  public void testFetchGroupTrendingHashtagsCachesI18NStrings() throws Exception {
+    Mocks mocks = new Mocks();
+    MockData mockData = new MockData();
+    stubChameleonConfigs(mocks, mockData);
+
+    mocks.service.fetchGroupTrendingHashtags(mockData.groupId);
+    mocks.startNewRequest(CHAMELEON_REQUEST_HEADERS);
+    List<GroupTrendingHashtagChameleonConfig> result = mocks.service.fetchGroupTrendingHashtags(mockData.groupId);
+
+    assertThat(result.get(0).getPrompt()).isEqualTo(mockData.expectedPrompt);
+    verify(mocks.configPipelineManager, times(1)).getContentConfigSync(any(ContentKey.class), any(Urn.class),
+        any(Optional.class), any(), any(), any(), anyBoolean());
+  }
+
+  @Test(description = "Test a fetch that does not complete within the request budget serves the fallback")
+  public void testFetchGroupTrendingHashtagsBudgetExceeded() throws Exception {
+    // The Chameleon executor never runs the load, so it can only complete after the budget
+    Mocks mocks = new Mocks(ChameleonServiceConfig.builder()
+        .chameleonExecutor(runnable -> { })
+        .requestBudget(Duration.ofMillis(10))
+        .minRemainingBudget(Duration.ZERO)
+        .build(), ChameleonCacheConfig.DISABLED);
+    MockData mockData = new MockData();
+    stubChameleonConfigs(mocks, mockData);
+
+    List<GroupTrendingHashtagChameleonConfig> result = mocks.service.fetchGroupTrendingHashtags(mockData.groupId);
+
+    assertThat(result).isEmpty();
+    verify(mocks.launchpadChameleonServiceCounterSensor).increment(
+        eq(ChameleonServiceCounterSensor.Attribute.CHAMELEON_BUDGET_EXCEEDED), anyString(), anyString(), anyString());
+  }
+
+  @Test(description = "Test a load the request stopped waiting for fires no tracking, the fetch served its config does")
+  public void testFetchGroupTrendingHashtagsBudgetExceededTracking() throws Exception {
+    // The Chameleon executor only runs the load once the budget is exceeded
+    List<Runnable> loads = new ArrayList<>();
+    Mocks mocks = new Mocks(ChameleonServiceConfig.builder()
+        .chameleonExecutor(loads::add)
+        .requestBudget(Duration.ofMillis(10))
+        .minRemainingBudget(Duration.ZERO)
+        .build(), ChameleonCacheConfig.DISABLED);
+    MockData mockData = new MockData();
+    stubChameleonConfigs(mocks, mockData);
+
+    List<GroupTrendingHashtagChameleonConfig> fallback = mocks.service.fetchGroupTrendingHashtags(mockData.groupId);
+    loads.forEach(Runnable::run);
+
+    assertThat(fallback).isEmpty();
+    verify(mocks.configPipelineManager, never()).fireAllTracking(any());
+
+    List<GroupTrendingHashtagChameleonConfig> loaded = mocks.service.fetchGroupTrendingHashtags(mockData.groupId);
+    mocks.service.fetchGroupTrendingHashtags(mockData.groupId);
+
+    assertThat(loaded).isNotEmpty();
+    verify(mocks.configPipelineManager, times(1)).fireAllTracking(any());
+  }
+
+  @Test(description = "Test the request budget is counted from the start of the request")
+  public void testFetchGroupTrendingHashtagsBudgetStartsWithRequest() throws Exception {
+    // The Chameleon executor never runs the load, so only the budget can end the wait
+    Mocks mocks = new Mocks(ChameleonServiceConfig.builder()
+        .chameleonExecutor(runnable -> { })
+        .requestBudget(Duration.ofMinutes(1))
+        .minRemainingBudget(Duration.ZERO)
+        .requestStartHeader("X-Request-Start")
+        .build(), ChameleonCacheConfig.DISABLED);
+    MockData mockData = new MockData();
+    stubChameleonConfigs(mocks, mockData);
+
+    mocks.startNewRequest(ImmutableMap.of("X-Request-Start",
+        "t=" + (System.currentTimeMillis() - Duration.ofMinutes(2).toMillis())));
+    List<GroupTrendingHashtagChameleonConfig> result = mocks.service.fetchGroupTrendingHashtags(mockData.groupId);
+
+    assertThat(result).isEmpty();
+    verify(mocks.launchpadChameleonServiceCounterSensor).increment(
+        ChameleonServiceCounterSensor.Attribute.CHAMELEON_BUDGET_EXCEEDED,
+        GroupTrendingHashtagChameleonServiceCounterSensor.CHAMELEON_GROUP_ID_TYPE, String.valueOf(mockData.groupId),
+        "");
+  }
+
+  @Test(description = "Test warmed up configs are loaded for no member, untracked, and served from the cache")
+  public void testWarmUpGroupTrendingHashtags() throws Exception {
+    Mocks mocks = new Mocks(ChameleonCacheConfig.builder().build());
+    MockData mockData = new MockData();
+    stubChameleonConfigs(mocks, mockData, ChameleonRequestContext.BACKGROUND_MEMBER_URN);
+
+    int loaded = mocks.service.warmUpGroupTrendingHashtags(ImmutableList.of(mockData.groupId),
+        ImmutableList.of(US_LOCALE), 2, Duration.ofSeconds(10));
+
+    assertThat(loaded).isEqualTo(1);
+    verify(mocks.configPipelineManager, never()).fireAllTracking(any());
+    verify(mocks.launchpadChameleonServiceCounterSensor, never()).increment(anyString(), anyString(),
+        eq(GroupTrendingHashtagChameleonServiceCounterSensor.Attribute.GROUP_TRENDING_HASHTAG_CHAMELEON_CONFIG_REQUEST));
+
+    List<GroupTrendingHashtagChameleonConfig> result = mocks.service.fetchGroupTrendingHashtags(mockData.groupId);
+
+    assertThat(mocks.service.getCachedGroupIds()).containsExactly(mockData.groupId);
+    assertThat(result.get(0).getHashtag()).isEqualTo(mockData.expectedHashtag);
+    verify(mocks.configPipelineManager, times(1)).getConfigsSync(any(ConfigQuery.class), any(Urn.class), anyMap(), any(),
+        anyMap(), anyBoolean());
+    verify(mocks.configPipelineManager, times(1)).fireAllTracking(any());
+  }
+
+  @Test(description = "Test the warm-up runs off the service scheduler and the service reports when it is done")
+  public void testStartWarmUp() throws Exception {
+    ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    Mocks mocks = new Mocks(ChameleonServiceConfig.builder().scheduler(scheduler).build(),
+        ChameleonCacheConfig.builder().build());
+    MockData mockData = new MockData();
+    stubChameleonConfigs(mocks, mockData, ChameleonRequestContext.BACKGROUND_MEMBER_URN);
+    CountDownLatch blocked = new CountDownLatch(1);
+    scheduler.execute(() -> Uninterruptibles.awaitUninterruptibly(blocked));
+
+    // The warm-up completes while the scheduler of the service is busy
+    mocks.service.startWarmUp(ImmutableList.of(mockData.groupId), ImmutableList.of(US_LOCALE), 2,
+        Duration.ofSeconds(10));
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+    while (!mocks.service.isWarmedUp() && System.nanoTime() < deadline) {
+      Thread.sleep(10);
+    }
+    boolean warmedUpWhileBlocked = mocks.service.isWarmedUp();
+    blocked.countDown();
+
+    assertThat(warmedUpWhileBlocked).isTrue();
+    assertThat(mocks.service.getCachedGroupIds()).containsExactly(mockData.groupId);
+    mocks.service.close();
+  }
+
+  @Test(description = "Test the request state is resolved once per request")
+  public void testRequestContextResolvedOncePerRequest() throws Exception {
+    Mocks mocks = new Mocks();
+    MockData mockData = new MockData();
+    stubChameleonConfigs(mocks, mockData);
+
+    mocks.service.fetchGroupTrendingHashtags(mockData.groupId);
+    mocks.service.fetchGroupTrendingHashtags(mockData.groupId + 1);
+
+    verify(mocks.memberFinder, times(1)).getMemberUrn();
+    verify(mocks.requestLocaleService, times(1)).getLocale();
+  }
+
+  @Test(description = "Test content lookups off the request thread use the lix user context of the request")
+  public void testContentLookupsUseRequestLixUserContext() throws Exception {
+    Mocks mocks = new Mocks(ChameleonServiceConfig.builder()
+        .contentExecutor(runnable -> new Thread(runnable).start())
+        .build(), ChameleonCacheConfig.DISABLED);
+    MockData mockData = new MockData();
+    stubChameleonConfigs(mocks, mockData);
+
+    List<GroupTrendingHashtagChameleonConfig> result = mocks.service.fetchGroupTrendingHashtags(mockData.groupId);
+
+    assertThat(result.get(0).getPrompt()).isEqualTo(mockData.expectedPrompt);
+    verify(mocks.configPipelineManager).getContentConfigSync(any(ContentKey.class), any(Urn.class),
+        any(Optional.class), any(), same(mocks.service.getRequestContext().getLixUserContext()), any(), anyBoolean());
+  }
+
+  @Test(description = "Test config calls are made without a lix user context, and so are background content lookups")
+  public void testLixUserContext() throws Exception {
+    Mocks mocks = new Mocks(ChameleonCacheConfig.builder().build());
+    MockData mockData = new MockData();
+    stubChameleonConfigs(mocks, mockData, ChameleonRequestContext.BACKGROUND_MEMBER_URN);
+
+    mocks.service.warmUpGroupTrendingHashtags(ImmutableList.of(mockData.groupId), ImmutableList.of(US_LOCALE), 1,
+        Duration.ofSeconds(10));
+
+    verify(mocks.configPipelineManager).getConfigsSync(any(ConfigQuery.class), any(), any(), isNull(), any(),
+        anyBoolean());
+    verify(mocks.configPipelineManager, atLeastOnce()).getContentConfigSync(any(ContentKey.class), any(Urn.class),
+        any(Optional.class), any(), isNull(), any(), anyBoolean());
+  }
+
+  @Test(description = "Test tracking is fired for targeted configs served from the config cache")
+  public void testFetchGroupTrendingHashtagsFiresTrackingOnCacheHit() throws Exception {
+    Mocks mocks = new Mocks(ChameleonCacheConfig.builder().build());
+    MockData mockData = new MockData();
+    stubChameleonConfigs(mocks, mockData);
+    stubTargetedChameleonConfig(mocks, mockData, MEMBER_URN);
+
+    mocks.service.fetchGroupTrendingHashtags(mockData.groupId);
+    mocks.startNewRequest(CHAMELEON_REQUEST_HEADERS);
+    mocks.service.fetchGroupTrendingHashtags(mockData.groupId);
+
+    verify(mocks.configPipelineManager, times(1)).getConfigsSync(any(ConfigQuery.class), any(), any(), any(), any(),
+        anyBoolean());
+    verify(mocks.configPipelineManager, times(2)).fireAllTracking(any());
+  }
+
+  @Test(description = "Test a targeted config loaded for a member is not served to another member")
+  public void testTargetedConfigNotServedToOtherMember() throws Exception {
+    Mocks mocks = new Mocks(ChameleonCacheConfig.builder().build());
+    MockData mockData = new MockData();
+    stubChameleonConfigs(mocks, mockData);
+    stubTargetedChameleonConfig(mocks, mockData, MEMBER_URN);
+    stubTargetedChameleonConfig(mocks, mockData, OTHER_MEMBER_URN);
+
+    mocks.service.fetchGroupTrendingHashtags(mockData.groupId);
+    mocks.startNewRequest(OTHER_MEMBER_URN, CHAMELEON_REQUEST_HEADERS);
+    List<GroupTrendingHashtagChameleonConfig> result = mocks.service.fetchGroupTrendingHashtags(mockData.groupId);
+
+    assertThat(result.get(0).getHashtag()).isEqualTo(mockData.expectedHashtag);
+    verify(mocks.configPipelineManager, times(1)).getConfigsSync(any(ConfigQuery.class), eq(MEMBER_URN), any(),
+        any(), any(), anyBoolean());
+    verify(mocks.configPipelineManager, times(1)).getConfigsSync(any(ConfigQuery.class), eq(OTHER_MEMBER_URN), any(),
+        any(), any(), anyBoolean());
+    verify(mocks.launchpadChameleonServiceCounterSensor, times(1)).increment(
+        eq(ChameleonServiceCounterSensor.Attribute.CHAMELEON_TARGETED_CONFIG_LOAD), anyString(), anyString(),
+        anyString());
+  }
+
+  @Test(description = "Test the variant of a targeted config is cached for the member it was loaded for")
+  public void testTargetedConfigCachedPerMember() throws Exception {
+    Mocks mocks = new Mocks(ChameleonCacheConfig.builder().build());
+    MockData mockData = new MockData();
+    stubChameleonConfigs(mocks, mockData);
+    stubTargetedChameleonConfig(mocks, mockData, MEMBER_URN);
+    stubTargetedChameleonConfig(mocks, mockData, OTHER_MEMBER_URN);
+
+    mocks.service.fetchGroupTrendingHashtags(mockData.groupId);
+    mocks.startNewRequest(OTHER_MEMBER_URN, CHAMELEON_REQUEST_HEADERS);
+    mocks.service.fetchGroupTrendingHashtags(mockData.groupId);
+    mocks.startNewRequest(OTHER_MEMBER_URN, CHAMELEON_REQUEST_HEADERS);
+    List<GroupTrendingHashtagChameleonConfig> result =
+        await(mocks.service.fetchGroupTrendingHashtagsAsync(mockData.groupId));
+
+    assertThat(result.get(0).getHashtag()).isEqualTo(mockData.expectedHashtag);
+    verify(mocks.configPipelineManager, times(1)).getConfigsSync(any(ConfigQuery.class), eq(OTHER_MEMBER_URN), any(),
+        any(), any(), anyBoolean());
+  }
+
+  @Test(description = "Test the async fetch does not serve a targeted config loaded for another member")
+  public void testTargetedConfigNotServedToOtherMemberAsync() throws Exception {
+    Mocks mocks = new Mocks(ChameleonCacheConfig.builder().build());
+    MockData mockData = new MockData();
+    stubChameleonConfigs(mocks, mockData);
+    stubTargetedChameleonConfig(mocks, mockData, MEMBER_URN);
+    stubTargetedChameleonConfig(mocks, mockData, OTHER_MEMBER_URN);
+
+    await(mocks.service.fetchGroupTrendingHashtagsAsync(mockData.groupId));
+    mocks.startNewRequest(OTHER_MEMBER_URN, CHAMELEON_REQUEST_HEADERS);
+    await(mocks.service.fetchGroupTrendingHashtagsAsync(mockData.groupId));
+
+    verify(mocks.configPipelineManager, times(1)).getConfigsSync(any(ConfigQuery.class), eq(OTHER_MEMBER_URN), any(),
+        any(), any(), anyBoolean());
+  }
+
+  @Test(description = "Test the fallback does not serve a targeted config loaded for another member")
+  public void testTargetedConfigNotServedToOtherMemberAsFallback() throws Exception {
+    // Loads run until the first member is served, then never complete
+    AtomicBoolean runLoads = new AtomicBoolean(true);
+    Mocks mocks = new Mocks(ChameleonServiceConfig.builder()
+        .chameleonExecutor(runnable -> {
+          if (runLoads.get()) {
+            runnable.run();
+          }
+        })
+        .requestBudget(Duration.ofMillis(10))
+        .minRemainingBudget(Duration.ZERO)
+        .build(), ChameleonCacheConfig.builder().build());
+    MockData mockData = new MockData();
+    stubChameleonConfigs(mocks, mockData);
+    stubTargetedChameleonConfig(mocks, mockData, MEMBER_URN);
+
+    List<GroupTrendingHashtagChameleonConfig> loaded = mocks.service.fetchGroupTrendingHashtags(mockData.groupId);
+    runLoads.set(false);
+    mocks.startNewRequest(OTHER_MEMBER_URN, CHAMELEON_REQUEST_HEADERS);
+    List<GroupTrendingHashtagChameleonConfig> fallback = mocks.service.fetchGroupTrendingHashtags(mockData.groupId);
+
+    assertThat(loaded).isNotEmpty();
+    assertThat(fallback).isEmpty();
+    verify(mocks.launchpadChameleonServiceCounterSensor).increment(
+        eq(ChameleonServiceCounterSensor.Attribute.CHAMELEON_BUDGET_EXCEEDED), anyString(), anyString(), anyString());
+  }
+
+  @Test(description = "Test hot configs are refreshed for no member, without tracking or counting a request")
+  public void testRefreshHotGroupTrendingHashtags() throws Exception {
+    Mocks mocks = new Mocks(ChameleonCacheConfig.builder().hotKeyMinHits(1).build());
+    MockData mockData = new MockData();
+    stubChameleonConfigs(mocks, mockData);
+    stubChameleonConfigs(mocks, mockData, ChameleonRequestContext.BACKGROUND_MEMBER_URN);
+
+    mocks.service.fetchGroupTrendingHashtags(mockData.groupId);
+    mocks.service.refreshHotGroupTrendingHashtags();
+
+    verify(mocks.configPipelineManager, times(1)).getConfigsSync(any(ConfigQuery.class),
+        eq(ChameleonRequestContext.BACKGROUND_MEMBER_URN), any(), any(), any(), anyBoolean());
+    verify(mocks.configPipelineManager, times(1)).fireAllTracking(any());
+    verify(mocks.launchpadChameleonServiceCounterSensor, times(1)).increment(anyString(), anyString(),
+        eq(GroupTrendingHashtagChameleonServiceCounterSensor.Attribute.GROUP_TRENDING_HASHTAG_CHAMELEON_CONFIG_REQUEST));
+  }
+
+  @Test(description = "Test targeted configs are not refreshed for no member, their group entry included")
+  public void testRefreshHotGroupTrendingHashtagsSkipsTargetedConfigs() throws Exception {
+    Mocks mocks = new Mocks(ChameleonCacheConfig.builder().hotKeyMinHits(1).build());
+    MockData mockData = new MockData();
+    stubChameleonConfigs(mocks, mockData);
+    stubTargetedChameleonConfig(mocks, mockData, MEMBER_URN);
+    stubTargetedChameleonConfig(mocks, mockData, ChameleonRequestContext.BACKGROUND_MEMBER_URN);
+
+    mocks.service.fetchGroupTrendingHashtags(mockData.groupId);
+    mocks.service.refreshHotGroupTrendingHashtags();
+    mocks.startNewRequest(CHAMELEON_REQUEST_HEADERS);
+    List<GroupTrendingHashtagChameleonConfig> result = mocks.service.fetchGroupTrendingHashtags(mockData.groupId);
+
+    assertThat(result.get(0).getHashtag()).isEqualTo(mockData.expectedHashtag);
+    verify(mocks.configPipelineManager, never()).getConfigsSync(any(ConfigQuery.class),
+        eq(ChameleonRequestContext.BACKGROUND_MEMBER_URN), any(), any(), any(), anyBoolean());
+    verify(mocks.configPipelineManager, times(1)).getConfigsSync(any(ConfigQuery.class), eq(MEMBER_URN), any(), any(),
+        any(), anyBoolean());
+  }
+
+  @Test(description = "Test closing the service stops its periodic background work")
+  public void testCloseShutsDownScheduler() {
+    ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    Mocks mocks = new Mocks(ChameleonServiceConfig.builder().scheduler(scheduler).build(),
+        ChameleonCacheConfig.builder().hotRefreshInterval(Duration.ofMinutes(1)).build());
+
+    mocks.service.close();
+
+    assertThat(scheduler.isShutdown()).isTrue();
+  }
+
+  @Test(description = "Test closing the service shuts down every executor it was given, after their accepted calls")
+  public void testCloseShutsDownExecutors() throws Exception {
+    ExecutorService chameleonExecutor = Executors.newSingleThreadExecutor();
+    ExecutorService contentExecutor = Executors.newSingleThreadExecutor();
+    ExecutorService previewExecutor = Executors.newSingleThreadExecutor();
+    ExecutorService trackingExecutor = Executors.newSingleThreadExecutor();
+    ExecutorService refreshExecutor = Executors.newSingleThreadExecutor();
+    Mocks mocks = new Mocks(ChameleonServiceConfig.builder()
+        .chameleonExecutor(chameleonExecutor)
+        .contentExecutor(contentExecutor)
+        .previewExecutor(previewExecutor)
+        .trackingExecutor(trackingExecutor)
+        .build(), ChameleonCacheConfig.DISABLED, refreshExecutor);
+    CountDownLatch acceptedCallRelease = new CountDownLatch(1);
+    AtomicBoolean acceptedCallCompleted = new AtomicBoolean();
+    chameleonExecutor.execute(() -> {
+      try {
+        acceptedCallRelease.await(5, TimeUnit.SECONDS);
+        acceptedCallCompleted.set(true);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    });
+
+    acceptedCallRelease.countDown();
+    mocks.service.close();
+
+    assertThat(acceptedCallCompleted.get()).isTrue();
+    for (ExecutorService executor
+        : ImmutableList.of(chameleonExecutor, contentExecutor, previewExecutor, trackingExecutor, refreshExecutor)) {
+      assertThat(executor.isTerminated()).isTrue();
+    }
+  }
+
+  @Test(description = "Test an aggregating sensor counts group IDs as numbers and is closed with the service")
+  public void testAggregatingCounterSensor() throws Exception {
+    Mocks mocks = new Mocks();
+    MockData mockData = new MockData();
+    stubChameleonConfigs(mocks, mockData);
+    AggregatingGroupTrendingHashtagChameleonServiceCounterSensor counterSensor =
+        mock(AggregatingGroupTrendingHashtagChameleonServiceCounterSensor.class);
+    GroupTrendingHashtagChameleonService service = new GroupTrendingHashtagChameleonService(
+        mocks.configPipelineManager, mocks.currentRequestService, mocks.lixServiceSync, mocks.requestLocaleService,
+        mocks.memberFinder, counterSensor, new RenderModelBuilderFactory(), ChameleonServiceConfig.DEFAULT,
+        ChameleonCacheConfig.DISABLED, MoreExecutors.directExecutor());
+
+    service.fetchGroupTrendingHashtags(mockData.groupId);
+    service.close();
+
+    verify(counterSensor).increment(mockData.groupId.longValue(), service.getName(),
+        GroupTrendingHashtagChameleonServiceCounterSensor.Attribute.GROUP_TRENDING_HASHTAG_CHAMELEON_CONFIG_REQUEST);
+    verify(counterSensor, never()).increment(anyString(), anyString(),
+        any(GroupTrendingHashtagChameleonServiceCounterSensor.Attribute.class));
+    verify(counterSensor).close();
+  }
+
+  @Test(description = "Test closing the service emits the queued tracking events and drops later ones")
+  public void testCloseEmitsQueuedTracking() throws Exception {
+    Mocks mocks = new Mocks(ChameleonServiceConfig.builder()
+        .tracking(ChameleonTrackingConfig.builder().flushInterval(Duration.ZERO).build())
+        .build(), ChameleonCacheConfig.DISABLED);
+    MockData mockData = new MockData();
+    stubChameleonConfigs(mocks, mockData);
+
+    mocks.service.fetchGroupTrendingHashtags(mockData.groupId);
+    verify(mocks.configPipelineManager, never()).fireAllTracking(any());
+    mocks.service.close();
+    verify(mocks.configPipelineManager, times(1)).fireAllTracking(any());
+
+    mocks.startNewRequest(ImmutableMap.of());
+    mocks.service.fetchGroupTrendingHashtags(mockData.groupId);
+
+    assertThat(mocks.service.flushTracking()).isEqualTo(0);
+    verify(mocks.configPipelineManager, times(1)).fireAllTracking(any());
+  }
+
+  @Test(description = "Test duplicate content keys of a batch are looked up once")
+  public void testGetI18NStringContentsDeduplicatesContentKeys() throws Exception {
+    Mocks mocks = new Mocks();
+    MockData mockData = new MockData();
+    stubChameleonConfigs(mocks, mockData);
+    ContentKey promptKey = usContentKey(mockData.promptUrn);
+    ContentKey ctaKey = usContentKey(mockData.ctaUrn);
+
+    Map<ContentKey, String> result = mocks.service.getI18NStringContents(groupConfig(),
+        ImmutableList.of(promptKey, ctaKey, promptKey), "prompt", "groupId", "12345",
+        mocks.service.getRequestContext());
+
+    assertThat(result).containsOnlyKeys(promptKey, ctaKey);
+    assertThat(result.get(promptKey)).isEqualTo(mockData.expectedPrompt);
+    verify(mocks.configPipelineManager, times(1)).getContentConfigSync(eq(promptKey), any(Urn.class),
+        any(Optional.class), any(), any(), any(), anyBoolean());
+  }
+
+  @Test(description = "Test every content key of a batch that fails is counted and left out of the result")
+  public void testGetI18NStringContentsCountsFailuresPerKey() throws Exception {
+    Mocks mocks = new Mocks();
+    MockData mockData = new MockData();
+    stubChameleonConfigs(mocks, mockData);
+    ContentKey promptKey = usContentKey(mockData.promptUrn);
+    ContentKey firstFailingKey = usContentKey("urn:li:chameleon:language-pack:voyager-api:missing-prompt:1");
+    ContentKey secondFailingKey = usContentKey("urn:li:chameleon:language-pack:voyager-api:missing-prompt:2");
+    when(mocks.configPipelineManager.getContentConfigSync(eq(firstFailingKey), any(Urn.class), any(Optional.class),
+        any(), any(), any(), anyBoolean())).thenThrow(new RuntimeException("content not found"));
+    when(mocks.configPipelineManager.getContentConfigSync(eq(secondFailingKey), any(Urn.class), any(Optional.class),
+        any(), any(), any(), anyBoolean())).thenThrow(new RuntimeException("content not found"));
+
+    Map<ContentKey, String> result = mocks.service.getI18NStringContents(groupConfig(),
+        ImmutableList.of(firstFailingKey, promptKey, secondFailingKey, firstFailingKey), "prompt", "groupId",
+        "12345", mocks.service.getRequestContext());
+
+    assertThat(result).containsOnlyKeys(promptKey);
+    verify(mocks.launchpadChameleonServiceCounterSensor, times(2)).increment(
+        ChameleonServiceCounterSensor.Attribute.CHAMELEON_I18N_RESOLVE_FAILED, "groupId", "12345", "prompt");
+  }
+
+  @Test(description = "Test a batch serves the lookups done by the content lookup deadline, without the slow ones")
+  public void testGetI18NStringContentsHonorsContentLookupTimeout() throws Exception {
+    Mocks mocks = new Mocks(ChameleonServiceConfig.builder()
+        .contentExecutor(runnable -> new Thread(runnable).start())
+        .contentLookupTimeout(Duration.ofMillis(50))
+        .build(), ChameleonCacheConfig.DISABLED);
+    MockData mockData = new MockData();
+    stubChameleonConfigs(mocks, mockData);
+    ContentKey promptKey = usContentKey(mockData.promptUrn);
+    ContentKey ctaKey = usContentKey(mockData.ctaUrn);
+    CountDownLatch slowLookupReleased = new CountDownLatch(1);
+    when(mocks.configPipelineManager.getContentConfigSync(eq(ctaKey), any(Urn.class), any(Optional.class), any(),
+        any(), any(), anyBoolean())).thenAnswer(invocation -> {
+          slowLookupReleased.await(10, TimeUnit.SECONDS);
+          return new ChameleonConfig(new Urn(mockData.ctaUrn), mockData.expectedCta.get());
+        });
+
+    try {
+      long startNanos = System.nanoTime();
+      Map<ContentKey, String> result = mocks.service.getI18NStringContents(groupConfig(),
+          ImmutableList.of(promptKey, ctaKey), "prompt", "groupId", "12345", mocks.service.getRequestContext());
+
+      assertThat(Duration.ofNanos(System.nanoTime() - startNanos)).isLessThan(Duration.ofSeconds(5));
+      assertThat(result).containsOnlyKeys(promptKey);
+      verify(mocks.launchpadChameleonServiceCounterSensor, times(1)).increment(
+          ChameleonServiceCounterSensor.Attribute.CHAMELEON_I18N_RESOLVE_FAILED, "groupId", "12345", "prompt");
+    } finally {
+      slowLookupReleased.countDown();
+    }
+  }
+
+  private void stubChameleonConfigs(Mocks mocks, MockData mockData) throws Exception {
+    stubChameleonConfigs(mocks, mockData, MEMBER_URN);
+  }
+
+  private void stubChameleonConfigs(Mocks mocks, MockData mockData, Urn memberUrn) throws Exception {
     Urn chameleonConfigUrn = new Urn(GROUP_TRENDING_HASHTAG_CONFIG_TYPE_URN);
     JSONObject parentJsonObject = readMockData();
 
     ChameleonConfig config = new ChameleonConfig(chameleonConfigUrn, parentJsonObject.toJSONString());
     Map<String, Object> configParams =
         ImmutableMap.of(PARAM_GROUP_ID, PARAM_GROUP_ID_VALUE_PREFIX + mockData.groupId);
-    when(mocks.configPipelineManager.getConfigsSync(any(ConfigQuery.class), eq(MEMBER_URN), eq(configParams), any(),
-        eq(CHAMELEON_REQUEST_HEADERS), anyBoolean()))
+    when(mocks.configPipelineManager.getConfigsSync(any(ConfigQuery.class), eq(memberUrn), eq(configParams), any(),
+        anyMap(), anyBoolean()))
         .thenReturn(ImmutableList.of(config));
 
     for (String key : mockData.chameleonKeyToValueMap.keySet()) {
@@ -69,14 +699,30 @@ public class GroupTrendingHashtagChameleonServiceTest extends VoyagerAsyncTaskUn
             .thenReturn(contentConfig);
       }
     }
+  }
 
-    List<GroupTrendingHashtagChameleonConfig>
-        result = mocks.service.fetchGroupTrendingHashtags(mockData.groupId);
+  /**
+   * Make the config of the group targeted by Chameleon for the member, e.g. through a lix
+   */
+  private void stubTargetedChameleonConfig(Mocks mocks, MockData mockData, Urn memberUrn) throws Exception {
+    ChameleonConfig config = spy(new ChameleonConfig(new Urn(GROUP_TRENDING_HASHTAG_CONFIG_TYPE_URN),
+        readMockData().toJSONString()));
+    doAnswer(RETURNS_DEEP_STUBS).when(config).getTrackingInfo();
+    when(config.getTrackingInfo().getConfigTargetingInfo()).thenReturn(mock(ConfigTargetingInfo.class));
+    doReturn(Optional.of(mock(CustomizationConfigMetadata.class))).when(config).getConfigMetadataOption();
+    Map<String, Object> configParams =
+        ImmutableMap.of(PARAM_GROUP_ID, PARAM_GROUP_ID_VALUE_PREFIX + mockData.groupId);
+    when(mocks.configPipelineManager.getConfigsSync(any(ConfigQuery.class), eq(memberUrn), eq(configParams), any(),
+        anyMap(), anyBoolean()))
+        .thenReturn(ImmutableList.of(config));
+  }
 
-    assertThat(result.get(0).getHashtag()).isEqualTo(mockData.expectedHashtag);
-    assertThat(result.get(0).getPrompt()).isEqualTo(mockData.expectedPrompt);
-    assertThat(result.get(0).getCta()).isEqualTo(mockData.expectedCta);
-    assertThat(result.get(0).getCardImage().toString()).isEqualTo(mockData.expectedCardImage.toString());
+  private ChameleonConfig groupConfig() throws Exception {
+    return new ChameleonConfig(new Urn(GROUP_TRENDING_HASHTAG_CONFIG_TYPE_URN), readMockData().toJSONString());
+  }
+
+  private ContentKey usContentKey(String contentUrn) throws Exception {
+    return new ContentKey(new Urn(contentUrn), LocaleHelper.toLocale(Locale.US));
   }
 
   private JSONObject readMockData() throws IOException, ParseException {
@@ -117,15 +763,38 @@ public class GroupTrendingHashtagChameleonServiceTest extends VoyagerAsyncTaskUn
     @Mock private GroupTrendingHashtagChameleonServiceCounterSensor launchpadChameleonServiceCounterSensor;
 
     private Mocks() {
+      this(ChameleonCacheConfig.DISABLED);
+    }
+
+    private Mocks(ChameleonCacheConfig cacheConfig) {
+      this(ChameleonServiceConfig.DEFAULT, cacheConfig);
+    }
+
+    private Mocks(ChameleonServiceConfig serviceConfig, ChameleonCacheConfig cacheConfig) {
+      this(serviceConfig, cacheConfig, MoreExecutors.directExecutor());
+    }
+
+    private Mocks(ChameleonServiceConfig serviceConfig, ChameleonCacheConfig cacheConfig, Executor refreshExecutor) {
       MockitoAnnotations.openMocks(this);
 
       when(memberFinder.getMemberUrn()).thenReturn(MEMBER_URN);
       when(requestLocaleService.getLocale()).thenReturn(US_LOCALE);
-      when(currentRequestService.getCurrentRequest()).thenReturn(mock(RequestFacade.class));
-      when(currentRequestService.getCurrentRequest().getHeaders()).thenReturn(CHAMELEON_REQUEST_HEADERS);
+      startNewRequest(CHAMELEON_REQUEST_HEADERS);
 
       service = new GroupTrendingHashtagChameleonService(configPipelineManager, currentRequestService, lixServiceSync, requestLocaleService,
-          memberFinder, launchpadChameleonServiceCounterSensor);
+          memberFinder, launchpadChameleonServiceCounterSensor, new RenderModelBuilderFactory(),
+          serviceConfig, cacheConfig, refreshExecutor);
+    }
+
+    private void startNewRequest(MemberUrn memberUrn, Map<String, String> headers) {
+      when(memberFinder.getMemberUrn()).thenReturn(memberUrn);
+      startNewRequest(headers);
+    }
+
+    private void startNewRequest(Map<String, String> headers) {
+      RequestFacade request = mock(RequestFacade.class);
+      when(request.getHeaders()).thenReturn(headers);
+      when(currentRequestService.getCurrentRequest()).thenReturn(request);
     }
   }
 
@@ -135,14 +804,16 @@ public class GroupTrendingHashtagChameleonServiceTest extends VoyagerAsyncTaskUn
     String expectedPrompt = "View your posts";
     Optional<String> expectedCta = Optional.of("viewPosts");
     Optional<SystemImageName> expectedCardImage = Optional.of(SystemImageName.ILL_SPT_MAIN_COWORKERS_4_SMALL);
+    String promptUrn = "urn:li:chameleon:language-pack:voyager-api:group-trending-hashtag-prompt:1662514814632-mpykbrfukki";
+    String ctaUrn = "urn:li:chameleon:external:voyager-api:group-trending-hashtag-cta:viewPosts";
 
     /*
      * Keys are copied from curli output of chameleon call.
      */
     Map<String, String> chameleonKeyToValueMap = ImmutableMap.<String, String>builder()
         .put("#FirstHashtag", expectedHashtag)
-        .put("urn:li:chameleon:language-pack:voyager-api:group-trending-hashtag-prompt:1662514814632-mpykbrfukki", expectedPrompt)
-        .put("urn:li:chameleon:external:voyager-api:group-trending-hashtag-cta:viewPosts", expectedCta.get())
+        .put(promptUrn, expectedPrompt)
+        .put(ctaUrn, expectedCta.get())
         .put("urn:li:chameleon:external:voyager-api:group-trending-hashtag-cardImage:systemImageName",
             String.valueOf(expectedCardImage))
         .build();
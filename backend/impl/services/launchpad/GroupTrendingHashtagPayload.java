@@ -0,0 +1,212 @@
+package com.linkedin.voyager.growth.launchpad.dash.impl.services;
+
+import com.linkedin.chameleon.client.impl.pipelines.ContentKey;
+import com.linkedin.chameleon.client.impl.pipelines.genericpipeline.ChameleonConfig;
+import com.linkedin.chameleon.client.impl.pipelines.genericpipeline.ChameleonPayloadObject;
+import com.linkedin.common.urn.Urn;
+import com.linkedin.voyager.dash.common.SystemImageName;
+import com.linkedin.voyager.growth.launchpad.dash.impl.helpers.groups.GroupTrendingHashtagChameleonConfig;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.BiConsumer;
+import javax.annotation.Nullable;
+import org.apache.commons.lang3.EnumUtils;
+
+import static com.linkedin.voyager.growth.launchpad.dash.impl.helpers.groups.GroupTrendingHashtagChameleonConstants.*;
+
+
+/**
+ * The hashtag cards of a group trending hashtag config, decoded into flat per field arrays.
+ * The Chameleon payload is traversed once, reading every field of every card a single time. Only the arrays are kept:
+ * content urns are parsed once at decode time, so nothing is parsed again per request, and the payload objects are
+ * dropped as soon as the cards are read.
+ * The payload itself is decoded eagerly, once per config and locale: the prompt urns of every card are needed up front
+ * to resolve the prompts in one batch, and the decoded payload is what the payload cache shares. Only the
+ * {@link GroupTrendingHashtagChameleonConfig} objects are built lazily, for the cards that are actually read,
+ * see {@link #toConfigList(Map)}.
+ * Two payloads with the same cards are equal, whatever config, group or member they were decoded for.
+ */
+final class GroupTrendingHashtagPayload {
+  private static final List<String> HASHTAG_CARDS_PATH =
+      Collections.singletonList(GROUP_TRENDING_HASHTAG_CONFIG_HASHTAG_CARDS);
+  private static final List<String> HASHTAG_PATH = Collections.singletonList(GROUP_TRENDING_HASHTAG_CONFIG_HASHTAG);
+  private static final List<String> PROMPT_PATH = Collections.singletonList(GROUP_TRENDING_HASHTAG_CONFIG_PROMPT);
+  private static final List<String> CTA_PATH = Collections.singletonList(GROUP_TRENDING_HASHTAG_CONFIG_CTA);
+  private static final List<String> CARD_IMAGE_PATH =
+      Collections.singletonList(GROUP_TRENDING_HASHTAG_CONFIG_CARD_IMAGE);
+
+  private final String[] hashtags;
+  private final Urn[] promptUrns;
+  private final String[] ctas;
+  private final String[] cardImages;
+
+  private GroupTrendingHashtagPayload(int size) {
+    this.hashtags = new String[size];
+    this.promptUrns = new Urn[size];
+    this.ctas = new String[size];
+    this.cardImages = new String[size];
+  }
+
+  /**
+   * Decode the hashtag cards of a config. A field that can not be read is left out of its card, and so is a prompt
+   * that is not a Chameleon content urn. The other fields of the card are still read, as each field was read with its
+   * own failure handling before.
+   * @param onFieldFailure notified with the field name and the failure of every field that can not be read
+   */
+  static GroupTrendingHashtagPayload decode(ChameleonConfig chameleonConfig,
+      BiConsumer<String, Exception> onFieldFailure) {
+    List<ChameleonPayloadObject> cards =
+        new ChameleonPayloadObject(chameleonConfig).getChameleonPayloadObjectList(HASHTAG_CARDS_PATH);
+    GroupTrendingHashtagPayload payload = new GroupTrendingHashtagPayload(cards.size());
+    for (int i = 0; i < cards.size(); i++) {
+      ChameleonPayloadObject card = cards.get(i);
+      payload.hashtags[i] = readString(card, HASHTAG_PATH, GROUP_TRENDING_HASHTAG_CONFIG_HASHTAG, onFieldFailure);
+      payload.promptUrns[i] = readContentUrn(card, PROMPT_PATH, GROUP_TRENDING_HASHTAG_CONFIG_PROMPT, onFieldFailure);
+      payload.ctas[i] = readContentKey(card, CTA_PATH, GROUP_TRENDING_HASHTAG_CONFIG_CTA, onFieldFailure);
+      payload.cardImages[i] =
+          readContentKey(card, CARD_IMAGE_PATH, GROUP_TRENDING_HASHTAG_CONFIG_CARD_IMAGE, onFieldFailure);
+    }
+    return payload;
+  }
+
+  int size() {
+    return hashtags.length;
+  }
+
+  /**
+   * @return the content urn of the prompt of a card, or null if the card has no prompt
+   */
+  @Nullable
+  Urn getPromptUrn(int index) {
+    return promptUrns[index];
+  }
+
+  /**
+   * View the cards as configs. Each config is built on its first read and then reused, so reading a card twice
+   * returns the same instance. The list is unmodifiable and safe to share between threads.
+   * @param prompts the resolved prompts by prompt content urn, prompts missing from it are left unset
+   */
+  List<GroupTrendingHashtagChameleonConfig> toConfigList(Map<Urn, String> prompts) {
+    return new LazyConfigList(prompts);
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    GroupTrendingHashtagPayload that = (GroupTrendingHashtagPayload) o;
+    return Arrays.equals(hashtags, that.hashtags) && Arrays.equals(promptUrns, that.promptUrns)
+        && Arrays.equals(ctas, that.ctas) && Arrays.equals(cardImages, that.cardImages);
+  }
+
+  @Override
+  public int hashCode() {
+    int result = Arrays.hashCode(hashtags);
+    result = 31 * result + Arrays.hashCode(promptUrns);
+    result = 31 * result + Arrays.hashCode(ctas);
+    return 31 * result + Arrays.hashCode(cardImages);
+  }
+
+  private GroupTrendingHashtagChameleonConfig buildConfig(int index, Map<Urn, String> prompts) {
+    GroupTrendingHashtagChameleonConfig config = new GroupTrendingHashtagChameleonConfig();
+    if (hashtags[index] != null) {
+      config.setHashtag(hashtags[index]);
+    }
+    String prompt = promptUrns[index] != null ? prompts.get(promptUrns[index]) : null;
+    if (prompt != null) {
+      config.setPrompt(prompt);
+    }
+    if (ctas[index] != null) {
+      config.setCta(ctas[index]);
+    }
+    if (cardImages[index] != null) {
+      config.setCardImage(EnumUtils.getEnumIgnoreCase(SystemImageName.class, cardImages[index],
+          GroupTrendingHashtagChameleonService.DEFAULT_SYSTEM_IMAGE));
+    }
+    return config;
+  }
+
+  @Nullable
+  private static String readString(ChameleonPayloadObject card, List<String> path, String field,
+      BiConsumer<String, Exception> onFieldFailure) {
+    try {
+      if (!card.hasString(path)) {
+        return null;
+      }
+      return card.getString(path);
+    } catch (Exception e) {
+      onFieldFailure.accept(field, e);
+      return null;
+    }
+  }
+
+  /**
+   * @return the content urn of the field, or null if the field holds no content urn, e.g. an absent optional field
+   */
+  @Nullable
+  private static Urn readContentUrn(ChameleonPayloadObject card, List<String> path, String field,
+      BiConsumer<String, Exception> onFieldFailure) {
+    try {
+      if (!card.hasChameleonContentUrn(path)) {
+        return null;
+      }
+      return card.getChameleonContentUrn(path);
+    } catch (Exception e) {
+      onFieldFailure.accept(field, e);
+      return null;
+    }
+  }
+
+  /**
+   * Plain string contents are stored as content urns, their value is the key of the content,
+   * e.g. viewPosts for urn:li:chameleon:external:voyager-api:group-trending-hashtag-cta:viewPosts
+   */
+  @Nullable
+  private static String readContentKey(ChameleonPayloadObject card, List<String> path, String field,
+      BiConsumer<String, Exception> onFieldFailure) {
+    try {
+      if (!card.hasString(path)) {
+        return null;
+      }
+      return new ContentKey(card.getChameleonContentUrn(path).toString()).getKey();
+    } catch (Exception e) {
+      onFieldFailure.accept(field, e);
+      return null;
+    }
+  }
+
+  private final class LazyConfigList extends AbstractList<GroupTrendingHashtagChameleonConfig> implements RandomAccess {
+    private final Map<Urn, String> prompts;
+    private final AtomicReferenceArray<GroupTrendingHashtagChameleonConfig> configs;
+
+    private LazyConfigList(Map<Urn, String> prompts) {
+      this.prompts = prompts;
+      this.configs = new AtomicReferenceArray<>(size());
+    }
+
+    @Override
+    public GroupTrendingHashtagChameleonConfig get(int index) {
+      GroupTrendingHashtagChameleonConfig config = configs.get(index);
+      if (config == null) {
+        // Racing readers may both build the config, only the first one is kept
+        configs.compareAndSet(index, null, buildConfig(index, prompts));
+        config = configs.get(index);
+      }
+      return config;
+    }
+
+    @Override
+    public int size() {
+      return configs.length();
+    }
+  }
+}
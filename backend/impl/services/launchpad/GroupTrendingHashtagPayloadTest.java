@@ -0,0 +1,132 @@
+package com.linkedin.voyager.growth.launchpad.dash.impl.services;
+
+import com.google.common.collect.ImmutableMap;
+import com.linkedin.chameleon.client.impl.pipelines.genericpipeline.ChameleonConfig;
+import com.linkedin.common.urn.Urn;
+import com.linkedin.voyager.common.test.helpers.test.VoyagerAsyncTaskUnitTest;
+import com.linkedin.voyager.dash.common.SystemImageName;
+import com.linkedin.voyager.growth.launchpad.dash.impl.helpers.groups.GroupTrendingHashtagChameleonConfig;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+import org.testng.annotations.Test;
+
+import static com.linkedin.voyager.growth.launchpad.dash.impl.helpers.groups.GroupTrendingHashtagChameleonConstants.*;
+
+
+/**
+ * Unit test for {@link GroupTrendingHashtagPayload}.
+ * */
+public class GroupTrendingHashtagPayloadTest extends VoyagerAsyncTaskUnitTest {
+  private static final String PROMPT_URN =
+      "urn:li:chameleon:language-pack:voyager-api:group-trending-hashtag-prompt:1662514814632-mpykbrfukki";
+  private static final String CTA_URN = "urn:li:chameleon:external:voyager-api:group-trending-hashtag-cta:viewPosts";
+  private static final String CARD_IMAGE_URN =
+      "urn:li:chameleon:external:voyager-api:group-trending-hashtag-cardImage:ILL_SPT_MAIN_CONVERSATION_SMALL";
+
+  @Test(description = "Test the cards are decoded into configs")
+  public void testDecode() throws Exception {
+    GroupTrendingHashtagPayload payload = GroupTrendingHashtagPayload.decode(newChameleonConfig(), (field, e) -> {
+      throw new AssertionError("Unexpected failure of field " + field, e);
+    });
+    List<GroupTrendingHashtagChameleonConfig> configs =
+        payload.toConfigList(ImmutableMap.of(new Urn(PROMPT_URN), "View your posts"));
+
+    assertThat(configs).hasSize(2);
+    assertThat(payload.getPromptUrn(0)).isEqualTo(new Urn(PROMPT_URN));
+    assertThat(configs.get(0).getHashtag()).isEqualTo("#FirstHashtag");
+    assertThat(configs.get(0).getPrompt()).isEqualTo("View your posts");
+    assertThat(configs.get(0).getCta()).isEqualTo(Optional.of("viewPosts"));
+    assertThat(configs.get(0).getCardImage()).isEqualTo(Optional.of(SystemImageName.ILL_SPT_MAIN_CONVERSATION_SMALL));
+  }
+
+  @Test(description = "Test absent optional fields are left unset")
+  public void testDecodeAbsentFields() throws Exception {
+    GroupTrendingHashtagPayload payload = GroupTrendingHashtagPayload.decode(newChameleonConfig(), (field, e) -> {
+      throw new AssertionError("Unexpected failure of field " + field, e);
+    });
+    GroupTrendingHashtagChameleonConfig config = payload.toConfigList(ImmutableMap.of()).get(1);
+
+    assertThat(payload.getPromptUrn(1)).isNull();
+    assertThat(config.getHashtag()).isEqualTo("#SecondHashtag");
+    assertThat(config.hasCardImage()).isFalse();
+  }
+
+  @Test(description = "Test a prompt that is not a content urn is left unset, as an absent prompt")
+  @SuppressWarnings("unchecked")
+  public void testDecodePromptWithoutContentUrn() throws Exception {
+    JSONObject card = new JSONObject();
+    card.put(GROUP_TRENDING_HASHTAG_CONFIG_HASHTAG, "#Hashtag");
+    card.put(GROUP_TRENDING_HASHTAG_CONFIG_PROMPT, "View your posts");
+    JSONArray cards = new JSONArray();
+    cards.add(card);
+    JSONObject config = new JSONObject();
+    config.put(GROUP_TRENDING_HASHTAG_CONFIG_HASHTAG_CARDS, cards);
+
+    GroupTrendingHashtagPayload payload = GroupTrendingHashtagPayload.decode(
+        new ChameleonConfig(new Urn(GROUP_TRENDING_HASHTAG_CONFIG_TYPE_URN), config.toJSONString()), (field, e) -> {
+          throw new AssertionError("Unexpected failure of field " + field, e);
+        });
+
+    assertThat(payload.getPromptUrn(0)).isNull();
+    assertThat(payload.toConfigList(ImmutableMap.of()).get(0).getHashtag()).isEqualTo("#Hashtag");
+  }
+
+  @Test(description = "Test a field that can not be read is reported, the other fields of its card are still read")
+  @SuppressWarnings("unchecked")
+  public void testDecodeFieldFailure() throws Exception {
+    JSONObject card = new JSONObject();
+    card.put(GROUP_TRENDING_HASHTAG_CONFIG_CTA, "viewPosts");
+    card.put(GROUP_TRENDING_HASHTAG_CONFIG_CARD_IMAGE, CARD_IMAGE_URN);
+    JSONArray cards = new JSONArray();
+    cards.add(card);
+    JSONObject config = new JSONObject();
+    config.put(GROUP_TRENDING_HASHTAG_CONFIG_HASHTAG_CARDS, cards);
+    List<String> failedFields = new ArrayList<>();
+
+    GroupTrendingHashtagPayload payload = GroupTrendingHashtagPayload.decode(
+        new ChameleonConfig(new Urn(GROUP_TRENDING_HASHTAG_CONFIG_TYPE_URN), config.toJSONString()),
+        (field, e) -> failedFields.add(field));
+    GroupTrendingHashtagChameleonConfig decoded = payload.toConfigList(ImmutableMap.of()).get(0);
+
+    assertThat(failedFields).containsExactly(GROUP_TRENDING_HASHTAG_CONFIG_CTA);
+    assertThat(decoded.hasHashtag()).isFalse();
+    assertThat(decoded.getCardImage()).isEqualTo(Optional.of(SystemImageName.ILL_SPT_MAIN_CONVERSATION_SMALL));
+  }
+
+  @Test(description = "Test a card is built once and then reused")
+  public void testConfigsAreReused() throws Exception {
+    List<GroupTrendingHashtagChameleonConfig> configs =
+        GroupTrendingHashtagPayload.decode(newChameleonConfig(), (field, e) -> { }).toConfigList(ImmutableMap.of());
+
+    assertThat(configs.get(1)).isSameAs(configs.get(1));
+  }
+
+  @Test(description = "Test payloads decoded from different configs with the same cards are equal")
+  public void testEquals() throws Exception {
+    GroupTrendingHashtagPayload first = GroupTrendingHashtagPayload.decode(newChameleonConfig(), (field, e) -> { });
+    GroupTrendingHashtagPayload second = GroupTrendingHashtagPayload.decode(newChameleonConfig(), (field, e) -> { });
+
+    assertThat(second).isEqualTo(first);
+    assertThat(second.hashCode()).isEqualTo(first.hashCode());
+  }
+
+  @SuppressWarnings("unchecked")
+  private static ChameleonConfig newChameleonConfig() throws Exception {
+    JSONObject firstCard = new JSONObject();
+    firstCard.put(GROUP_TRENDING_HASHTAG_CONFIG_HASHTAG, "#FirstHashtag");
+    firstCard.put(GROUP_TRENDING_HASHTAG_CONFIG_PROMPT, PROMPT_URN);
+    firstCard.put(GROUP_TRENDING_HASHTAG_CONFIG_CTA, CTA_URN);
+    firstCard.put(GROUP_TRENDING_HASHTAG_CONFIG_CARD_IMAGE, CARD_IMAGE_URN);
+    JSONObject secondCard = new JSONObject();
+    secondCard.put(GROUP_TRENDING_HASHTAG_CONFIG_HASHTAG, "#SecondHashtag");
+    JSONArray cards = new JSONArray();
+    cards.add(firstCard);
+    cards.add(secondCard);
+    JSONObject config = new JSONObject();
+    config.put(GROUP_TRENDING_HASHTAG_CONFIG_HASHTAG_CARDS, cards);
+    return new ChameleonConfig(new Urn(GROUP_TRENDING_HASHTAG_CONFIG_TYPE_URN), config.toJSONString());
+  }
+}
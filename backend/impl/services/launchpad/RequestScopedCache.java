@@ -0,0 +1,45 @@
+package com.linkedin.voyager.growth.launchpad.dash.impl.services;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.linkedin.pemberly.api.server.context.CurrentRequestService;
+import com.linkedin.pemberly.api.server.context.RequestFacade;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+
+/**
+ * Memoizes values for the lifetime of the current request.
+ * Values are keyed on the identity of the current {@link RequestFacade} and are dropped together with the request,
+ * so nothing stored here is ever shared between two requests.
+ */
+final class RequestScopedCache<K, V> {
+  // Safety net in case a request object is retained longer than expected
+  private static final long MAX_REQUEST_LIFETIME_MINUTES = 5;
+
+  private final CurrentRequestService currentRequestService;
+  private final Cache<RequestFacade, ConcurrentMap<K, V>> requestCache = CacheBuilder.newBuilder()
+      .weakKeys()
+      .expireAfterAccess(MAX_REQUEST_LIFETIME_MINUTES, TimeUnit.MINUTES)
+      .build();
+
+  RequestScopedCache(CurrentRequestService currentRequestService) {
+    this.currentRequestService = currentRequestService;
+  }
+
+  /**
+   * Return the value memoized for the given key in the current request, computing it on first access.
+   * Outside of a request the value is computed on every call.
+   */
+  V computeIfAbsent(K key, Function<? super K, ? extends V> loader) {
+    RequestFacade request = currentRequestService.getCurrentRequest();
+    if (request == null) {
+      return loader.apply(key);
+    }
+    return requestCache.asMap()
+        .computeIfAbsent(request, ignored -> new ConcurrentHashMap<>())
+        .computeIfAbsent(key, loader);
+  }
+}
@@ -0,0 +1,138 @@
+package com.linkedin.voyager.growth.launchpad.dash.impl.formatters.evtgroups;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.linkedin.common.UrnArray;
+import com.linkedin.common.urn.GroupUrn;
+import com.linkedin.launchpad.Attribute;
+import com.linkedin.launchpad.AttributeArray;
+import com.linkedin.launchpad.LaunchpadCard;
+import com.linkedin.parseq.Engine;
+import com.linkedin.parseq.EngineBuilder;
+import com.linkedin.parseq.Task;
+import com.linkedin.pemberly.api.server.lix.LixService;
+import com.linkedin.pemberly.api.server.url.UrlService;
+import com.linkedin.playmt.restliplugin.server.FabricChecker;
+import com.linkedin.voyager.common.core.api.helpers.VoyagerMemberFinder;
+import com.linkedin.voyager.common.core.api.services.VoyagerClientInfoService;
+import com.linkedin.voyager.common.dash.api.growth.services.BaseAmbryService;
+import com.linkedin.voyager.common.dash.api.infra.formatters.tracking.TrackingKeyFormatter;
+import com.linkedin.voyager.common.dash.api.infra.helpers.RenderModelBuilderFactory;
+import com.linkedin.voyager.common.dash.api.infra.services.VoyagerLocalizationService;
+import com.linkedin.voyager.dash.common.SystemImageName;
+import com.linkedin.voyager.growth.launchpad.dash.impl.formatters.LaunchpadViewModelPool;
+import com.linkedin.voyager.growth.launchpad.dash.impl.helpers.LaunchpadCardWrapper;
+import com.linkedin.voyager.growth.launchpad.dash.impl.helpers.LaunchpadDecorationUrns;
+import com.linkedin.voyager.growth.launchpad.dash.impl.helpers.groups.GroupTrendingHashtagChameleonConfig;
+import com.linkedin.voyager.growth.launchpad.dash.impl.monitoring.ChameleonLatencySensor;
+import com.linkedin.voyager.growth.launchpad.dash.impl.services.GroupTrendingHashtagChameleonService;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import static org.mockito.Mockito.*;
+
+
+/**
+ * Benchmark of the per-card work of {@link GroupHashtagPromptCardFormatter} once the group configs are fetched.
+ * The targeted card is the last one of {@link #cardCount} configs.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GroupHashtagPromptCardFormatterBenchmark {
+  private static final long GROUP_ID = 12345L;
+  private static final String CARD_TYPE = "evtgroups__actions__start_a_post_1";
+
+  @Param({"1", "3", "10"})
+  int cardCount;
+
+  private ExecutorService taskExecutor;
+  private ScheduledExecutorService timerScheduler;
+  private Engine engine;
+  private GroupHashtagPromptCardFormatter formatter;
+  private LaunchpadCardWrapper launchpadCardWrapper;
+
+  @Setup
+  public void setUp() {
+    taskExecutor = Executors.newSingleThreadExecutor();
+    timerScheduler = Executors.newSingleThreadScheduledExecutor();
+    engine = new EngineBuilder().setTaskExecutor(taskExecutor).setTimerScheduler(timerScheduler).build();
+
+    List<GroupTrendingHashtagChameleonConfig> configs = new ArrayList<>(cardCount);
+    for (int i = 0; i < cardCount; i++) {
+      configs.add(new GroupTrendingHashtagChameleonConfig()
+          .setHashtag("#hashtag" + i)
+          .setPrompt("prompt " + i)
+          .setCardImage(SystemImageName.ILL_SPT_MAIN_CONVERSATION_SMALL));
+    }
+    GroupTrendingHashtagChameleonService service = stub(GroupTrendingHashtagChameleonService.class);
+    when(service.fetchGroupTrendingHashtagsAsync(GROUP_ID)).thenReturn(Task.value(ImmutableList.copyOf(configs)));
+    when(service.getLatencySensor()).thenReturn(ChameleonLatencySensor.DISABLED);
+    RenderModelBuilderFactory renderModelBuilderFactory = new RenderModelBuilderFactory();
+
+    formatter = new GroupHashtagPromptCardFormatter(stub(FabricChecker.class), stub(VoyagerLocalizationService.class),
+        stub(BaseAmbryService.class), stub(VoyagerMemberFinder.class), stub(UrlService.class),
+        stub(VoyagerClientInfoService.class), stub(LixService.class), renderModelBuilderFactory,
+        stub(TrackingKeyFormatter.class), service, ImmutableMap.of(CARD_TYPE, cardCount - 1),
+        new LaunchpadViewModelPool(renderModelBuilderFactory));
+
+    Attribute groupAttribute = new Attribute()
+        .setType("GROUP_URN")
+        .setRelatedEntities(new UrnArray(ImmutableList.of(new GroupUrn(GROUP_ID))));
+    LaunchpadCard launchpadCard = new LaunchpadCard()
+        .setCardType(CARD_TYPE)
+        .setAttributes(new AttributeArray(groupAttribute))
+        .setLegoTrackingToken("tracking token");
+    launchpadCardWrapper =
+        new LaunchpadCardWrapper(launchpadCard, new LaunchpadDecorationUrns.LaunchpadDecorationUrnsBuilder().build());
+  }
+
+  @TearDown
+  public void tearDown() {
+    engine.shutdown();
+    taskExecutor.shutdownNow();
+    timerScheduler.shutdownNow();
+  }
+
+  @Benchmark
+  public GroupTrendingHashtagChameleonConfig findTargetChameleonConfig() throws InterruptedException {
+    return run(formatter.findTargetChameleonConfig(launchpadCardWrapper));
+  }
+
+  @Benchmark
+  public GroupHashtagPromptCardSnapshot findTargetCardSnapshot() throws InterruptedException {
+    return run(formatter.findTargetCardSnapshot(launchpadCardWrapper));
+  }
+
+  /**
+   * Mocks called in the measured code must not record their invocations, which would allocate and grow every call
+   */
+  private static <T> T stub(Class<T> type) {
+    return mock(type, withSettings().stubOnly());
+  }
+
+  private <T> T run(Task<T> task) throws InterruptedException {
+    engine.run(task);
+    task.await();
+    return task.get();
+  }
+}
@@ -0,0 +1,220 @@
+package com.linkedin.voyager.growth.launchpad.dash.impl.services;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.linkedin.chameleon.client.api.ConfigPipelineMgr;
+import com.linkedin.chameleon.client.impl.pipelines.ConfigQuery;
+import com.linkedin.chameleon.client.impl.pipelines.ContentKey;
+import com.linkedin.chameleon.client.impl.pipelines.genericpipeline.ChameleonConfig;
+import com.linkedin.chameleon.client.impl.pipelines.genericpipeline.ChameleonPayloadObject;
+import com.linkedin.common.urn.MemberUrn;
+import com.linkedin.common.urn.Urn;
+import com.linkedin.pemberly.api.server.context.CurrentRequestService;
+import com.linkedin.pemberly.api.server.context.RequestFacade;
+import com.linkedin.pemberly.api.server.context.RequestLocaleService;
+import com.linkedin.voyager.common.core.api.helpers.VoyagerMemberFinder;
+import com.linkedin.voyager.common.core.api.services.VoyagerLixServiceSync;
+import com.linkedin.voyager.common.dash.api.infra.helpers.RenderModelBuilderFactory;
+import com.linkedin.voyager.dash.common.SystemImageName;
+import com.linkedin.voyager.growth.launchpad.dash.impl.helpers.groups.GroupTrendingHashtagChameleonConfig;
+import com.linkedin.voyager.growth.launchpad.dash.impl.monitoring.GroupTrendingHashtagChameleonServiceCounterSensor;
+import java.io.FileNotFoundException;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.lang3.EnumUtils;
+import org.apache.commons.lang3.LocaleUtils;
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+import org.json.simple.parser.JSONParser;
+import org.json.simple.parser.ParseException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import static com.linkedin.voyager.growth.launchpad.dash.impl.helpers.groups.GroupTrendingHashtagChameleonConstants.*;
+import static org.mockito.Mockito.*;
+
+
+/**
+ * Benchmark of the group trending hashtag fetch-and-parse path, against an in-process ConfigPipelineMgr seeded from
+ * groupTrendingHashtagChameleonConfigMockData.json. The seeded hashtag cards are repeated up to {@link #cardCount}.
+ * The stubbed Chameleon calls cost the same in every run, so differences between runs come from our own code.
+ * Run with the gc profiler to see the allocation rate, e.g. through {@link #main(String[])}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GroupTrendingHashtagChameleonServiceBenchmark {
+  private static final MemberUrn MEMBER_URN = new MemberUrn(100L);
+  private static final Long GROUP_ID = 12345L;
+  private static final Map<String, String> CHAMELEON_REQUEST_HEADERS = ImmutableMap.of("x-li-chameleon-ec-test_id", "1");
+  private static final String PROMPT_URN =
+      "urn:li:chameleon:language-pack:voyager-api:group-trending-hashtag-prompt:1662514814632-mpykbrfukki";
+  private static final String PROMPT = "View your posts";
+  private static final List<String> HASHTAG_PATH = Collections.singletonList(GROUP_TRENDING_HASHTAG_CONFIG_HASHTAG);
+  private static final List<String> PROMPT_PATH = Collections.singletonList(GROUP_TRENDING_HASHTAG_CONFIG_PROMPT);
+  private static final List<String> CTA_PATH = Collections.singletonList(GROUP_TRENDING_HASHTAG_CONFIG_CTA);
+  private static final List<String> CARD_IMAGE_PATH =
+      Collections.singletonList(GROUP_TRENDING_HASHTAG_CONFIG_CARD_IMAGE);
+
+  @Param({"1", "3", "10"})
+  int cardCount;
+
+  @Param({"en_US", "fr_FR", "ja_JP"})
+  String locale;
+
+  @Param({"true", "false"})
+  boolean contentCacheEnabled;
+
+  private Locale requestLocale;
+  private ChameleonConfig chameleonConfig;
+  private ChameleonRequestContext requestContext;
+  private GroupTrendingHashtagChameleonService service;
+
+  @Setup
+  public void setUp() throws Exception {
+    requestLocale = LocaleUtils.toLocale(locale);
+    requestContext = ChameleonRequestContext.of(MEMBER_URN, requestLocale, CHAMELEON_REQUEST_HEADERS);
+    chameleonConfig = new ChameleonConfig(new Urn(GROUP_TRENDING_HASHTAG_CONFIG_TYPE_URN), seedConfigJson(cardCount));
+
+    ConfigPipelineMgr configPipelineManager = stub(ConfigPipelineMgr.class);
+    when(configPipelineManager.getConfigsSync(any(ConfigQuery.class), any(Urn.class), anyMap(), any(), anyMap(),
+        anyBoolean()))
+        .thenReturn(ImmutableList.of(chameleonConfig));
+    when(configPipelineManager.getContentConfigSync(any(ContentKey.class), any(Urn.class), any(Optional.class), any(),
+        any(), any(), anyBoolean()))
+        .thenReturn(new ChameleonConfig(new Urn(PROMPT_URN), PROMPT));
+
+    RequestFacade request = stub(RequestFacade.class);
+    when(request.getHeaders()).thenReturn(CHAMELEON_REQUEST_HEADERS);
+    CurrentRequestService currentRequestService = stub(CurrentRequestService.class);
+    when(currentRequestService.getCurrentRequest()).thenReturn(request);
+    VoyagerMemberFinder memberFinder = stub(VoyagerMemberFinder.class);
+    when(memberFinder.getMemberUrn()).thenReturn(MEMBER_URN);
+    RequestLocaleService requestLocaleService = stub(RequestLocaleService.class);
+    when(requestLocaleService.getLocale()).thenReturn(requestLocale);
+
+    service = new GroupTrendingHashtagChameleonService(configPipelineManager, currentRequestService,
+        stub(VoyagerLixServiceSync.class), requestLocaleService, memberFinder,
+        stub(GroupTrendingHashtagChameleonServiceCounterSensor.class), new RenderModelBuilderFactory(),
+        ChameleonServiceConfig.builder().contentCacheEnabled(contentCacheEnabled).build(),
+        ChameleonCacheConfig.DISABLED, MoreExecutors.directExecutor());
+  }
+
+  /**
+   * A full config load: Chameleon call, payload traversal, prompt resolution and config building
+   */
+  @Benchmark
+  public List<GroupTrendingHashtagChameleonConfig> loadGroupTrendingHashtags() {
+    return service.loadGroupTrendingHashtags(GROUP_ID, requestContext);
+  }
+
+  /**
+   * Every card built with the generic payload accessors, field by field, the way the configs were built before the
+   * specialized decoding. Prompts are left unresolved, as in {@link #decodeCards()}.
+   */
+  @Benchmark
+  public List<GroupTrendingHashtagChameleonConfig> buildCardsFromChameleonPayload() {
+    List<ChameleonPayloadObject> cards = new ChameleonPayloadObject(chameleonConfig)
+        .getChameleonPayloadObjectList(Collections.singletonList(GROUP_TRENDING_HASHTAG_CONFIG_HASHTAG_CARDS));
+    List<GroupTrendingHashtagChameleonConfig> configs = new ArrayList<>(cards.size());
+    for (ChameleonPayloadObject card : cards) {
+      GroupTrendingHashtagChameleonConfig config = new GroupTrendingHashtagChameleonConfig();
+      if (card.hasString(HASHTAG_PATH)) {
+        config.setHashtag(card.getString(HASHTAG_PATH));
+      }
+      if (card.hasChameleonContentUrn(PROMPT_PATH)) {
+        card.getChameleonContentUrn(PROMPT_PATH);
+      }
+      if (card.hasString(CTA_PATH)) {
+        config.setCta(new ContentKey(card.getChameleonContentUrn(CTA_PATH).toString()).getKey());
+      }
+      if (card.hasString(CARD_IMAGE_PATH)) {
+        config.setCardImage(EnumUtils.getEnumIgnoreCase(SystemImageName.class,
+            new ContentKey(card.getChameleonContentUrn(CARD_IMAGE_PATH).toString()).getKey(),
+            GroupTrendingHashtagChameleonService.DEFAULT_SYSTEM_IMAGE));
+      }
+      configs.add(config);
+    }
+    return configs;
+  }
+
+  /**
+   * The same cards built through the specialized decoding into flat per field arrays
+   */
+  @Benchmark
+  public List<GroupTrendingHashtagChameleonConfig> decodeCards() {
+    return new ArrayList<>(GroupTrendingHashtagPayload.decode(chameleonConfig, (field, e) -> { })
+        .toConfigList(Collections.emptyMap()));
+  }
+
+  /**
+   * Build the config JSON with the seeded hashtag cards repeated up to cardCount
+   */
+  static String seedConfigJson(int cardCount) throws IOException, ParseException {
+    JSONObject mockData = readMockData();
+    JSONArray seededCards = (JSONArray) mockData.get(GROUP_TRENDING_HASHTAG_CONFIG_HASHTAG_CARDS);
+    JSONArray cards = new JSONArray();
+    for (int i = 0; i < cardCount; i++) {
+      cards.add(seededCards.get(i % seededCards.size()));
+    }
+    mockData.put(GROUP_TRENDING_HASHTAG_CONFIG_HASHTAG_CARDS, cards);
+    return mockData.toJSONString();
+  }
+
+  /**
+   * Same lookup as GroupTrendingHashtagChameleonServiceTest, the working directory differs between IntelliJ and Gradle
+   */
+  private static JSONObject readMockData() throws IOException, ParseException {
+    String path = "/src/test/java/com/linkedin/voyager/growth/launchpad/dash/impl/services/"
+        + "groupTrendingHashtagChameleonConfigMockData.json";
+    try {
+      return parseMockData(System.getProperty("user.dir") + path);
+    } catch (FileNotFoundException e) {
+      return parseMockData(System.getProperty("user.dir") + "/launchpad-dash-impl" + path);
+    }
+  }
+
+  private static JSONObject parseMockData(String fileName) throws IOException, ParseException {
+    try (FileReader reader = new FileReader(fileName)) {
+      return (JSONObject) new JSONParser().parse(reader);
+    }
+  }
+
+  /**
+   * Mocks called in the measured code must not record their invocations, which would allocate and grow every call
+   */
+  private static <T> T stub(Class<T> type) {
+    return mock(type, withSettings().stubOnly());
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder()
+        .include("GroupTrendingHashtagChameleonServiceBenchmark|GroupHashtagPromptCardFormatterBenchmark")
+        .addProfiler(GCProfiler.class)
+        .build()).run();
+  }
+}